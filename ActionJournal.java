@@ -0,0 +1,492 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of every state-changing action, so progress since the last
+ * full save survives a crash.
+ *
+ * <p>Each action is a fixed 6-byte record (action, item, value). Records are
+ * buffered and written in groups by a background flusher, with one fsync per
+ * group. Appending never waits for the disk: the flusher only holds the
+ * buffer's lock long enough to swap in an empty one.
+ *
+ * <p>A checkpoint writes a full save snapshot that stores the sequence number
+ * of the first record it does <em>not</em> include, so recovery replays
+ * exactly the records after it. Once the snapshot is on disk, the save
+ * service's thread rotates the journal and drops the part the snapshots cover.
+ *
+ * <pre>
+ *  journal file: int magic "TJNL", long sequence of the first record, records...
+ *  record:       byte action, byte item, int value
+ *  batch:        BATCH record with value n, then n records; one sequence number
+ * </pre>
+ * A batch is written as one unit and replayed all or not at all.
+ * The item is its {@link ItemCatalog} ordinal, or -1 for actions without one.
+ */
+public class ActionJournal {
+    public static final byte FEED = 1;
+    public static final byte PLAY = 2;
+    public static final byte SLEEP = 3;
+    public static final byte VET = 4;
+    public static final byte USE_ITEM = 5;
+    // Value is the price paid
+    public static final byte PURCHASE = 6;
+    public static final byte TICK = 7;
+    // Value is the quantity, bought at the catalog price. Journaled carts are
+    // PURCHASE records, one per item, so only older journals have these.
+    public static final byte PURCHASE_MANY = 8;
+    // Value is the number of records that follow and belong to it
+    public static final byte BATCH = 9;
+
+    private static final int MAGIC = 0x544A4E4C; // "TJNL"
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_SIZE = 6;
+    private static final long FLUSH_INTERVAL_MILLIS = 50;
+
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "journal-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path savePath;
+    private final Path journalPath;
+    private final Path previousPath;
+    private final Path nextPath;
+    private ScheduledFuture<?> flushTask;
+
+    // Guarded by this: records not yet handed to the disk
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private long nextSequence;
+    private long replayedTicks = 0;
+
+    // Guarded by flushLock: the files, and the empty buffer swapped in for pending
+    private final Object flushLock = new Object();
+    private FileChannel channel;
+    private ByteBuffer spare = ByteBuffer.allocate(4096);
+
+    private ActionJournal(Path savePath, long nextSequence) {
+        this.savePath = savePath;
+        this.journalPath = siblingPath(savePath, ".journal");
+        this.previousPath = siblingPath(savePath, ".journal.old");
+        this.nextPath = siblingPath(savePath, ".journal.new");
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Starts appending to a freshly opened journal file and flushing it in the background.
+     */
+    private void start(FileChannel channel) {
+        synchronized (flushLock) {
+            this.channel = channel;
+        }
+        flushTask = flusher.scheduleWithFixedDelay(this::flushQuietly,
+                FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static Path siblingPath(Path savePath, String suffix) {
+        String name = savePath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return savePath.resolveSibling(base + suffix);
+    }
+
+    /**
+     * Starts an empty journal for a brand-new game, discarding any old journal for the same save.
+     */
+    public static ActionJournal create(Path savePath) throws IOException {
+        ActionJournal journal = new ActionJournal(savePath, 0);
+        Files.deleteIfExists(journal.previousPath);
+        Files.deleteIfExists(journal.nextPath);
+        journal.start(openNewJournal(journal.journalPath, 0));
+        return journal;
+    }
+
+    /**
+     * Recovers a loaded game: replays every journaled action the save doesn't
+     * include yet, then keeps appending to the journal.
+     *
+     * <p>The replayed actions are only in memory until the next checkpoint, so
+     * nothing that holds them is truncated or deleted here. The journal is
+     * reopened after its last whole record and the rotated-out one is kept;
+     * the next checkpoint's rotation drops them once a snapshot covers them.
+     * @param savePath The save file the game was loaded from
+     * @param gameState The game state, already restored from the save
+     * @param savedSequence The save's journal sequence (see {@link SaveField#JOURNAL_SEQUENCE})
+     * @return The journal, positioned after the last replayed record
+     */
+    public static ActionJournal recover(Path savePath, GameState gameState, long savedSequence) throws IOException {
+        ActionJournal journal = new ActionJournal(savePath, savedSequence);
+        // A rotation that crashed before its new journal was moved into place
+        Files.deleteIfExists(journal.nextPath);
+
+        // A checkpoint may have been interrupted before its snapshot hit the disk,
+        // in which case the older journal still holds actions the save lacks
+        journal.replay(journal.previousPath, gameState);
+        JournalEnd end = journal.replay(journal.journalPath, gameState);
+
+        if (end != null && end.sequence() == journal.nextSequence) {
+            // Carry on numbering where the journal left off, over any torn record
+            journal.start(reopenJournal(journal.journalPath, end.bytes()));
+        } else {
+            // The journal is missing, unreadable or entirely older than the save,
+            // so it holds nothing the game needs
+            journal.start(openNewJournal(journal.journalPath, journal.nextSequence));
+        }
+        if (journal.nextSequence == savedSequence) {
+            // Nothing was replayed, so the save covers every journaled action
+            Files.deleteIfExists(journal.previousPath);
+        }
+        return journal;
+    }
+
+    /**
+     * Where a journal's whole records end.
+     * @param sequence The sequence number the next record would have
+     * @param bytes The file length up to and including the last whole record
+     */
+    private record JournalEnd(long sequence, long bytes) {
+    }
+
+    /**
+     * Replays the records of a journal file that the game doesn't have yet.
+     * @return Where its whole records end, or null if it is missing or unreadable
+     */
+    private JournalEnd replay(Path path, GameState gameState) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (data.remaining() < HEADER_SIZE || data.getInt() != MAGIC) {
+            System.err.println("Ignoring unreadable journal: " + path);
+            return null;
+        }
+
+        long sequence = data.getLong();
+        int wholeBytes = data.position();
+        // A torn record at the end (crash mid-write) is simply dropped
+        while (data.remaining() >= RECORD_SIZE) {
+            byte action = data.get();
+            byte item = data.get();
+            int value = data.getInt();
+            if (action == BATCH) {
+                if (value < 0 || data.remaining() < (long) value * RECORD_SIZE) {
+                    // Torn batch: none of it is replayed
+                    break;
+                }
+                List<GameState.Action> batch = new ArrayList<>(value);
+                for (int i = 0; i < value; i++) {
+                    batch.add(new GameState.Action(data.get(), data.get(), data.getInt()));
+                }
+                if (sequence >= nextSequence) {
+                    applyBatch(gameState, batch);
+                    nextSequence = sequence + 1;
+                }
+            } else if (sequence >= nextSequence) {
+                apply(gameState, action, item, value);
+                if (action == TICK) {
+                    replayedTicks += value;
+                }
+                nextSequence = sequence + 1;
+            }
+            sequence++;
+            wholeBytes = data.position();
+        }
+        return new JournalEnd(sequence, wholeBytes);
+    }
+
+    private static void apply(GameState gameState, byte action, byte item, int value) {
+        if (!isValid(action, item)) {
+            return;
+        }
+        switch (action) {
+            case FEED -> gameState.feedPet(item);
+            // Rewards are rolled again from the restored random stream, so it
+            // ends up exactly where it was; the journaled reward checks that
+            case PLAY -> checkReward(gameState.playWithPet(), value);
+            case SLEEP -> checkReward(gameState.sleepPet(), value);
+            case VET -> gameState.visitVet();
+            case USE_ITEM -> gameState.useSpecialItem(item);
+            case PURCHASE -> gameState.purchaseItem(item, value);
+            case PURCHASE_MANY -> gameState.purchaseItems(item, value);
+            case TICK -> gameState.tick(value);
+            default -> System.err.println("Skipping unknown journal action: " + action);
+        }
+    }
+
+    private void applyBatch(GameState gameState, List<GameState.Action> journaled) {
+        List<GameState.Action> batch = new ArrayList<>(journaled.size());
+        for (GameState.Action action : journaled) {
+            if (isValid(action.type(), action.item())) {
+                batch.add(action);
+            }
+        }
+
+        int[] replayed = gameState.replay(batch);
+        for (int i = 0; i < replayed.length; i++) {
+            GameState.Action action = batch.get(i);
+            switch (action.type()) {
+                case PLAY, SLEEP -> checkReward(replayed[i], action.value());
+                case TICK -> replayedTicks += action.value();
+                default -> { }
+            }
+        }
+    }
+
+    private static boolean isValid(byte action, int item) {
+        if (action < FEED || action > PURCHASE_MANY) {
+            System.err.println("Skipping unknown journal action: " + action);
+            return false;
+        }
+        if ((action == FEED || action == USE_ITEM || action == PURCHASE || action == PURCHASE_MANY) && (item < 0 || item >= ItemCatalog.size())) {
+            System.err.println("Skipping journaled action with unknown item: " + item);
+            return false;
+        }
+        return true;
+    }
+
+    private static void checkReward(int replayed, int journaled) {
+        if (replayed != journaled) {
+            System.err.println("Journal replay diverged: reward " + replayed + " instead of " + journaled);
+        }
+    }
+
+    private static FileChannel openNewJournal(Path path, long firstSequence) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putLong(firstSequence).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    /**
+     * Opens an existing journal for appending after its last whole record,
+     * cutting off any torn record a crash left behind it.
+     */
+    private static FileChannel reopenJournal(Path path, long wholeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() > wholeBytes) {
+                channel.truncate(wholeBytes);
+                channel.force(true);
+            }
+            channel.position(wholeBytes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Appends an action. It reaches the disk with the next group flush.
+     * @param item The item's ordinal, or -1 if the action has none
+     */
+    public synchronized void append(byte action, int item, int value) {
+        ensureRemaining(RECORD_SIZE);
+        put(action, item, value);
+        nextSequence++;
+    }
+
+    /**
+     * Appends several actions as one batch (see {@link GameState#apply}).
+     * They reach the disk in the same group flush and take one sequence number.
+     */
+    public synchronized void append(List<GameState.Action> actions) {
+        ensureRemaining((actions.size() + 1) * RECORD_SIZE);
+        put(BATCH, -1, actions.size());
+        for (GameState.Action action : actions) {
+            put(action.type(), action.item(), action.value());
+        }
+        nextSequence++;
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private void put(byte action, int item, int value) {
+        pending.put(action);
+        pending.put((byte) item);
+        pending.putInt(value);
+    }
+
+    /**
+     * Writes buffered records and fsyncs them as one group.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            if (channel != null) {
+                writePending();
+            }
+        }
+    }
+
+    /**
+     * Takes the records appended so far and writes and fsyncs them. Appends
+     * wait only for the buffer swap, never for the disk. Call with flushLock held.
+     * @return The sequence number of the first record not written
+     */
+    private long writePending() throws IOException {
+        ByteBuffer records;
+        long sequence;
+        synchronized (this) {
+            records = pending;
+            pending = spare;
+            sequence = nextSequence;
+        }
+
+        try {
+            if (records.position() > 0) {
+                records.flip();
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+                channel.force(false);
+            }
+        } finally {
+            records.clear();
+            spare = records;
+        }
+        return sequence;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Error writing journal " + journalPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compacts the journal into a full save. Must be called on the thread that
+     * mutates the game state, so the snapshot and the journal position it
+     * records are taken at the same point in the action sequence. Nothing
+     * touches the disk on the calling thread.
+     * @param snapshot A snapshot of the game state taken just now
+     * @return A future that completes once the snapshot is safely on disk
+     */
+    public CompletableFuture<Path> checkpoint(SaveRecord snapshot) {
+        long sequence = getNextSequence();
+        snapshot.setLong(SaveField.JOURNAL_SEQUENCE, sequence);
+
+        SaveService saves = SaveService.getInstance();
+        return saves.save(savePath, snapshot).thenApplyAsync(path -> {
+            rotate(sequence);
+            return path;
+        }, saves::runOnWriter);
+    }
+
+    /**
+     * Once a snapshot is on disk, drops the rotated-out journal if the
+     * snapshot covers all of it, then rotates the current journal out so the
+     * next snapshot can drop it in turn. Runs on the save service's thread.
+     * @param snapshotSequence The snapshot's journal sequence
+     */
+    private void rotate(long snapshotSequence) {
+        synchronized (flushLock) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                long firstOfNew = writePending();
+                if (Files.exists(previousPath)) {
+                    // Still holds actions no snapshot on disk has; wait for a later one
+                    if (sequenceOf(journalPath) > snapshotSequence) {
+                        return;
+                    }
+                    Files.delete(previousPath);
+                }
+                // The current journal stays open and in use until its replacement
+                // is ready; if anything fails, records keep going to it
+                FileChannel fresh = openNewJournal(nextPath, firstOfNew);
+                try {
+                    Files.move(journalPath, previousPath, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    fresh.close();
+                    Files.deleteIfExists(nextPath);
+                    throw e;
+                }
+                try {
+                    Files.move(nextPath, journalPath);
+                } catch (IOException e) {
+                    fresh.close();
+                    Files.move(previousPath, journalPath);
+                    throw e;
+                }
+                channel.close();
+                channel = fresh;
+            } catch (IOException e) {
+                System.err.println("Error rotating journal " + journalPath + ", still appending to it: " + e.getMessage());
+            }
+        }
+    }
+
+    private static long sequenceOf(Path journal) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return header.getLong(4);
+        }
+    }
+
+    public synchronized long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * The number of simulation ticks that recovery replayed from the journal.
+     */
+    public long getReplayedTicks() {
+        return replayedTicks;
+    }
+
+    public Path getSavePath() {
+        return savePath;
+    }
+
+    /**
+     * Flushes what's left and closes the journal file.
+     */
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        synchronized (flushLock) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                writePending();
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing journal " + journalPath + ": " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * What every action does, compiled from data into flat tables.
+ *
+ * <p>Actions (play, sleep, the vet) and items (each food and special item)
+ * are declared as properties: stat changes, cost, score, the dabloon reward
+ * range, cooldown and which statistic they count towards. When the table is
+ * loaded each one becomes a row, and each property a column of plain int
+ * arrays, so applying an action is a few array reads with no lookups by name.
+ * {@link GameState} applies rows to a single game and {@link PetPopulation}
+ * applies them to whole populations.
+ *
+ * <p>The built-in values below are the game's balance. Any of them can be
+ * overridden without recompiling by putting the same keys in a
+ * {@value #OVERRIDES_FILE} file in the directory the game is started from.
+ */
+public final class ActionTable {
+    // Rows for the actions; items follow, in catalog order (see itemRow)
+    public static final int PLAY = 0;
+    public static final int SLEEP = 1;
+    public static final int VET = 2;
+    private static final String[] ACTION_KEYS = {"play", "sleep", "vet"};
+
+    // Statistics an action can count towards
+    public static final byte STAT_NONE = 0;
+    public static final byte STAT_FEEDINGS = 1;
+    public static final byte STAT_PLAY_SESSIONS = 2;
+    public static final byte STAT_VET_VISITS = 3;
+    private static final String[] STAT_KEYS = {"none", "feedings", "playSessions", "vetVisits"};
+
+    private static final Set<String> PROPERTIES = Set.of(
+        "health", "happiness", "fullness", "energy", "maxHealth", "healToFull",
+        "cost", "score", "reward", "cooldown", "stat");
+
+    public static final String OVERRIDES_FILE = "balance.properties";
+
+    private static final String DEFAULTS = """
+        # <row>.<property>=<value>. Rows are play, sleep, vet and item.<item key>.
+        # health, happiness, fullness, energy, maxHealth: added to the pet's stat
+        # healToFull: heal the pet to its maximum health afterwards
+        # cost: dabloons it costs; score: score it earns
+        # reward: dabloons it earns, a number or an inclusive range like 5-9
+        # cooldown: simulation ticks before it can be done again (0 = none)
+        # stat: statistic it counts towards (feedings, playSessions, vetVisits)
+
+        play.happiness=15
+        play.energy=-10
+        play.score=15
+        play.reward=5-9
+        play.stat=playSessions
+
+        sleep.energy=25
+        sleep.happiness=-5
+        sleep.score=10
+        sleep.reward=3-5
+
+        vet.cost=50
+        vet.healToFull=true
+        vet.score=20
+        vet.stat=vetVisits
+
+        item.kibble.fullness=10
+        item.kibble.score=10
+        item.kibble.stat=feedings
+
+        item.treats.fullness=15
+        item.treats.happiness=5
+        item.treats.score=10
+        item.treats.stat=feedings
+
+        item.premiumFood.fullness=25
+        item.premiumFood.happiness=10
+        item.premiumFood.score=10
+        item.premiumFood.stat=feedings
+
+        item.vaccine.maxHealth=20
+        item.vaccine.healToFull=true
+        """;
+
+    private static ActionTable instance;
+
+    // One entry per row
+    private final int[] health;
+    private final int[] happiness;
+    private final int[] fullness;
+    private final int[] energy;
+    private final int[] maxHealth;
+    private final boolean[] healToFull;
+    private final int[] cost;
+    private final int[] score;
+    private final int[] rewardMin;
+    private final int[] rewardMax;
+    private final int[] cooldown;
+    private final byte[] stat;
+
+    private ActionTable(int rows) {
+        health = new int[rows];
+        happiness = new int[rows];
+        fullness = new int[rows];
+        energy = new int[rows];
+        maxHealth = new int[rows];
+        healToFull = new boolean[rows];
+        cost = new int[rows];
+        score = new int[rows];
+        rewardMin = new int[rows];
+        rewardMax = new int[rows];
+        cooldown = new int[rows];
+        stat = new byte[rows];
+    }
+
+    /**
+     * Returns the game's table: the built-in balance plus any overrides,
+     * loaded the first time it is needed.
+     */
+    public static synchronized ActionTable get() {
+        if (instance == null) {
+            instance = load(Path.of(OVERRIDES_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * Loads the built-in balance with the overrides in the given file, if it exists.
+     */
+    public static ActionTable load(Path overrides) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(DEFAULTS));
+            if (Files.exists(overrides)) {
+                try (Reader reader = Files.newBufferedReader(overrides)) {
+                    properties.load(reader);
+                }
+                System.out.println("Loaded balance overrides from " + overrides);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading balance overrides from " + overrides + ": " + e.getMessage());
+        }
+        return compile(properties);
+    }
+
+    /**
+     * Compiles actions declared as properties into a table. Values that are
+     * missing are 0; values that can't be parsed are reported and ignored.
+     */
+    public static ActionTable compile(Properties properties) {
+        int rows = itemRow(ItemCatalog.size());
+        ActionTable table = new ActionTable(rows);
+
+        for (int row = 0; row < rows; row++) {
+            String key = rowKey(row);
+            table.health[row] = intValue(properties, key + ".health");
+            table.happiness[row] = intValue(properties, key + ".happiness");
+            table.fullness[row] = intValue(properties, key + ".fullness");
+            table.energy[row] = intValue(properties, key + ".energy");
+            table.maxHealth[row] = intValue(properties, key + ".maxHealth");
+            table.healToFull[row] = Boolean.parseBoolean(properties.getProperty(key + ".healToFull", "false").trim());
+            table.cost[row] = intValue(properties, key + ".cost");
+            table.score[row] = intValue(properties, key + ".score");
+            table.cooldown[row] = Math.max(0, intValue(properties, key + ".cooldown"));
+
+            // "5-9" or just "5"
+            String reward = properties.getProperty(key + ".reward", "0").trim();
+            int dash = reward.indexOf('-', 1);
+            table.rewardMin[row] = parseInt(key + ".reward", dash > 0 ? reward.substring(0, dash) : reward);
+            table.rewardMax[row] = dash > 0 ? parseInt(key + ".reward", reward.substring(dash + 1)) : table.rewardMin[row];
+            if (table.rewardMax[row] < table.rewardMin[row]) {
+                System.err.println("Ignoring empty reward range " + key + ".reward=" + reward);
+                table.rewardMax[row] = table.rewardMin[row];
+            }
+
+            String statKey = properties.getProperty(key + ".stat", "none").trim();
+            table.stat[row] = STAT_NONE;
+            for (byte s = 0; s < STAT_KEYS.length; s++) {
+                if (STAT_KEYS[s].equals(statKey)) {
+                    table.stat[row] = s;
+                }
+            }
+            if (table.stat[row] == STAT_NONE && !statKey.equals("none")) {
+                System.err.println("Ignoring unknown statistic " + key + ".stat=" + statKey);
+            }
+        }
+
+        // Typos would otherwise be silently ignored
+        for (String name : properties.stringPropertyNames()) {
+            int dot = name.lastIndexOf('.');
+            if (dot < 0 || rowOf(name.substring(0, dot)) < 0 || !PROPERTIES.contains(name.substring(dot + 1))) {
+                System.err.println("Ignoring unknown balance property: " + name);
+            }
+        }
+        return table;
+    }
+
+    private static int intValue(Properties properties, String name) {
+        return parseInt(name, properties.getProperty(name, "0").trim());
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid number " + name + "=" + value);
+            return 0;
+        }
+    }
+
+    /**
+     * The row for using or feeding an item.
+     * @param item The item's ordinal
+     */
+    public static int itemRow(int item) {
+        return ACTION_KEYS.length + item;
+    }
+
+    private static String rowKey(int row) {
+        return row < ACTION_KEYS.length
+            ? ACTION_KEYS[row]
+            : "item." + ItemCatalog.get(row - ACTION_KEYS.length).key();
+    }
+
+    private static int rowOf(String key) {
+        for (int row = 0; row < itemRow(ItemCatalog.size()); row++) {
+            if (rowKey(row).equals(key)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public int rows() {
+        return health.length;
+    }
+
+    /**
+     * Applies a row's stat changes to a pet.
+     */
+    public void applyStats(int row, Pet pet) {
+        // Max health first, since health is clamped to it
+        if (maxHealth[row] != 0) {
+            pet.increaseMaxHealth(maxHealth[row]);
+        }
+        if (health[row] != 0) {
+            pet.increaseHealth(health[row]);
+        }
+        if (happiness[row] != 0) {
+            pet.increaseHappiness(happiness[row]);
+        }
+        if (fullness[row] != 0) {
+            pet.increaseFullness(fullness[row]);
+        }
+        if (energy[row] != 0) {
+            pet.increaseEnergy(energy[row]);
+        }
+        if (healToFull[row]) {
+            pet.setHealth(pet.getMaxHealth());
+        }
+    }
+
+    /**
+     * Rolls a row's dabloon reward. Only rows with a range draw from the random stream.
+     */
+    public int rollReward(int row, RandomGenerator random) {
+        return rewardMax[row] > rewardMin[row] ? random.nextInt(rewardMin[row], rewardMax[row] + 1) : rewardMin[row];
+    }
+
+    /**
+     * Describes a row's stat changes, e.g. "+15 Happiness, -10 Energy".
+     */
+    public String describe(int row) {
+        StringBuilder text = new StringBuilder();
+        appendChange(text, health[row], "Health");
+        appendChange(text, maxHealth[row], "Max Health");
+        appendChange(text, happiness[row], "Happiness");
+        appendChange(text, fullness[row], "Fullness");
+        appendChange(text, energy[row], "Energy");
+        return text.toString();
+    }
+
+    private static void appendChange(StringBuilder text, int amount, String stat) {
+        if (amount != 0) {
+            text.append(text.length() > 0 ? ", " : "").append(amount > 0 ? "+" : "").append(amount).append(' ').append(stat);
+        }
+    }
+
+    public int getHealth(int row) {
+        return health[row];
+    }
+
+    public int getHappiness(int row) {
+        return happiness[row];
+    }
+
+    public int getFullness(int row) {
+        return fullness[row];
+    }
+
+    public int getEnergy(int row) {
+        return energy[row];
+    }
+
+    public int getMaxHealth(int row) {
+        return maxHealth[row];
+    }
+
+    public boolean healsToFull(int row) {
+        return healToFull[row];
+    }
+
+    public int getCost(int row) {
+        return cost[row];
+    }
+
+    public int getScore(int row) {
+        return score[row];
+    }
+
+    /**
+     * Simulation ticks that must pass before the action can be done again.
+     */
+    public int getCooldown(int row) {
+        return cooldown[row];
+    }
+
+    public byte getStat(int row) {
+        return stat[row];
+    }
+}
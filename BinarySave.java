@@ -0,0 +1,190 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Flat binary save file format.
+ *
+ * <pre>
+ *  offset  size  content
+ *  0       4     magic "TAMA"
+ *  4       2     format version
+ *  6       2     number of slots that follow
+ *  8       4     offset of the string table
+ *  12      4     reserved (0)
+ *  16      8*n   one slot per {@link SaveField}, in declaration order: the
+ *                value itself for numbers, or (offset, length) of UTF-8
+ *                bytes in the string table for strings (length -1 for null)
+ * </pre>
+ *
+ * Every field lives at a fixed offset, so a {@link View} over a
+ * memory-mapped file reads only the slots it is asked for and decodes
+ * strings on demand. Files written with fewer slots (older versions)
+ * read the missing fields as 0 or null.
+ */
+public class BinarySave {
+    public static final int MAGIC = 0x54414D41; // "TAMA"
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 8;
+    private static final SaveField[] FIELDS = SaveField.values();
+
+    private BinarySave() {
+    }
+
+    /**
+     * Encodes a record into the binary layout.
+     */
+    public static ByteBuffer encode(SaveRecord record) {
+        byte[][] stringBytes = new byte[FIELDS.length][];
+        int stringTableSize = 0;
+        for (SaveField field : FIELDS) {
+            String value = record.getString(field);
+            if (field.kind() == SaveField.Kind.STRING && value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                stringBytes[field.ordinal()] = bytes;
+                stringTableSize += bytes.length;
+            }
+        }
+
+        int stringTableOffset = HEADER_SIZE + FIELDS.length * SLOT_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(stringTableOffset + stringTableSize);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) FIELDS.length);
+        buffer.putInt(stringTableOffset);
+        buffer.putInt(0);
+
+        int stringOffset = stringTableOffset;
+        for (SaveField field : FIELDS) {
+            if (field.kind() == SaveField.Kind.STRING) {
+                byte[] bytes = stringBytes[field.ordinal()];
+                int length = bytes == null ? -1 : bytes.length;
+                buffer.putInt(stringOffset);
+                buffer.putInt(length);
+                if (bytes != null) {
+                    buffer.put(stringOffset, bytes);
+                    stringOffset += bytes.length;
+                }
+            } else {
+                buffer.putLong(record.getLong(field));
+            }
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Maps a save file into memory for reading.
+     * @throws IOException if the file can't be read or isn't a binary save
+     */
+    public static View open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new View(buffer);
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the binary save magic number.
+     */
+    public static boolean isBinarySave(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            return channel.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read-only accessor over an encoded save. Each getter reads one slot at
+     * its fixed offset; nothing else in the file is touched.
+     */
+    public static class View {
+        private final ByteBuffer buffer;
+        private final int slotCount;
+
+        public View(ByteBuffer buffer) throws IOException {
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary save file");
+            }
+            int version = buffer.getShort(4);
+            if (version > VERSION) {
+                throw new IOException("Unsupported save version: " + version);
+            }
+            int slots = Short.toUnsignedInt(buffer.getShort(6));
+            if (HEADER_SIZE + slots * SLOT_SIZE > buffer.capacity()) {
+                throw new IOException("Truncated save file");
+            }
+            this.buffer = buffer;
+            this.slotCount = slots;
+        }
+
+        public boolean has(SaveField field) {
+            return field.ordinal() < slotCount;
+        }
+
+        public int getInt(SaveField field) {
+            return (int) getLong(field);
+        }
+
+        public long getLong(SaveField field) {
+            return has(field) ? buffer.getLong(slotOffset(field)) : 0;
+        }
+
+        public double getDouble(SaveField field) {
+            return Double.longBitsToDouble(getLong(field));
+        }
+
+        /**
+         * @throws IOException if the slot points outside the file
+         */
+        public String getString(SaveField field) throws IOException {
+            if (!has(field)) {
+                return null;
+            }
+            int offset = buffer.getInt(slotOffset(field));
+            int length = buffer.getInt(slotOffset(field) + 4);
+            if (length < 0) {
+                return null;
+            }
+            if (offset < 0 || length > buffer.limit() - offset) {
+                throw new IOException("Corrupt save file: " + field.key() + " lies outside the file");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Copies every field out of the file.
+         * @throws IOException if a string slot points outside the file
+         */
+        public SaveRecord toRecord() throws IOException {
+            SaveRecord record = new SaveRecord();
+            for (SaveField field : FIELDS) {
+                if (!has(field)) {
+                    continue;
+                }
+                if (field.kind() == SaveField.Kind.STRING) {
+                    record.setString(field, getString(field));
+                } else {
+                    record.setLong(field, getLong(field));
+                }
+            }
+            return record;
+        }
+
+        private static int slotOffset(SaveField field) {
+            return HEADER_SIZE + field.ordinal() * SLOT_SIZE;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for the game's hot paths, so a recording from a
+ * struggling machine shows which stalls came from our code next to GC and
+ * JavaFX pulse activity. Start one with e.g.
+ * {@code -XX:StartFlightRecording=filename=game.jfr} and open it in JDK Mission Control.
+ *
+ * <p>Each event is begun when it is created and timed until {@code commit()}.
+ * Sprite decodes finish on another thread, so that event is created once the
+ * decode is done and carries its own decode time. When no recording is running, creating and committing them costs next to nothing.
+ */
+public final class GameEvents {
+    private GameEvents() {
+    }
+
+    @Name("tamagotchi.Tick")
+    @Label("Game Loop Tick")
+    @Category({"Tamagotchi", "Simulation"})
+    @Description("A run of the game loop that advanced the simulation")
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        @Label("Ticks")
+        public int ticks;
+
+        @Label("Health")
+        public int health;
+
+        @Label("Happiness")
+        public int happiness;
+
+        @Label("Fullness")
+        public int fullness;
+
+        @Label("Energy")
+        public int energy;
+
+        public Tick() {
+            begin();
+        }
+    }
+
+    @Name("tamagotchi.Action")
+    @Label("Player Action")
+    @Category({"Tamagotchi", "Actions"})
+    @Description("The player feeding, playing with or otherwise caring for the pet")
+    @StackTrace(false)
+    public static final class Action extends Event {
+        @Label("Action")
+        public String action;
+
+        @Label("Item")
+        public String item;
+
+        @Label("Done")
+        @Description("False if the action couldn't be done, e.g. no food left")
+        public boolean done;
+
+        @Label("Dabloons Earned")
+        public int dabloons;
+
+        public Action(String action, String item) {
+            this.action = action;
+            this.item = item;
+            begin();
+        }
+
+        /**
+         * Ends the action and commits the event.
+         */
+        public void end(boolean done) {
+            this.done = done;
+            commit();
+        }
+    }
+
+    @Name("tamagotchi.Save")
+    @Label("Save")
+    @Category({"Tamagotchi", "Persistence"})
+    @StackTrace(false)
+    public static final class Save extends Event {
+        @Label("Operation")
+        @Description("snapshot: the game thread copying the state; write: putting it on disk")
+        public String operation;
+
+        @Label("Path")
+        public String path;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+
+        public Save(String operation, String path) {
+            this.operation = operation;
+            this.path = path;
+            begin();
+        }
+
+        /**
+         * Ends the save and commits the event.
+         */
+        public void end(boolean succeeded) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+
+    @Name("tamagotchi.Load")
+    @Label("Load")
+    @Category({"Tamagotchi", "Persistence"})
+    @StackTrace(false)
+    public static final class Load extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+
+        public Load(String path) {
+            this.path = path;
+            begin();
+        }
+
+        /**
+         * Ends the load and commits the event.
+         */
+        public void end(boolean succeeded) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+
+    @Name("tamagotchi.SpriteDecode")
+    @Label("Sprite Decode")
+    @Category({"Tamagotchi", "Rendering"})
+    @Description("A pet sprite finished loading and decoding on JavaFX's background loader")
+    @StackTrace(false)
+    public static final class SpriteDecode extends Event {
+        @Label("Decode Time")
+        @Description("From the request until the image was ready")
+        @Timespan(Timespan.NANOSECONDS)
+        public long decodeTime;
+
+        @Label("Species")
+        public String species;
+
+        @Label("Mood")
+        public String mood;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+
+        @Label("Decoded Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Failed")
+        public boolean failed;
+
+        public SpriteDecode(String species, String mood) {
+            this.species = species;
+            this.mood = mood;
+            begin();
+        }
+    }
+
+    @Name("tamagotchi.SceneBuild")
+    @Label("Scene Construction")
+    @Category({"Tamagotchi", "Rendering"})
+    @Description("Building a screen and its scene graph")
+    @StackTrace(false)
+    public static final class SceneBuild extends Event {
+        @Label("Screen")
+        public String screen;
+
+        public SceneBuild(String screen) {
+            this.screen = screen;
+            begin();
+        }
+    }
+}
@@ -1,9 +1,10 @@
-import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
 import javafx.animation.ScaleTransition;
 import javafx.animation.Timeline;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,7 +14,6 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.Priority;
@@ -24,22 +24,28 @@ import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
-import javafx.stage.Modality;
 import javafx.stage.Stage;
-import java.io.File;
-import java.util.Random;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.util.Duration;
 
 /**
  * The GameScreen class handles the main gameplay screen where the player interacts with their pet.
  */
-public class GameScreen {
+public class GameScreen implements ScreenNavigator.Screen {
     private Stage stage;
     private GameState gameState;
+    private ScreenNavigator navigator;
     private Pet pet;
     private Scene scene;
-    private Stage dialog;
+    private final ToastQueue toasts = new ToastQueue();
+    // Built once and reused every time the player feeds the pet or uses an item
+    private ItemPickerDialog feedDialog;
+    private ItemPickerDialog useItemDialog;
     
     // UI elements
     private Text petNameText;
@@ -52,12 +58,43 @@ public class GameScreen {
     private ProgressBar fullnessBar;
     private ProgressBar energyBar;
     private ImageView petSprite;
+    private final Map<Pet.Mood, Image> petSprites = new EnumMap<>(Pet.Mood.class);
+    private final PauseTransition moodReset = new PauseTransition();
+    private static final Duration ACTION_MOOD_TIME = Duration.seconds(2);
+    private static final Duration SLEEP_MOOD_TIME = Duration.seconds(3);
     private Text scoreText;
     private Text currencyText;
     
-    // Game loop for periodic updates
-    private AnimationTimer gameLoop;
-    private long lastUpdate = 0;
+    // Parts of the screen to refresh on the next pulse
+    private static final int DIRTY_STATS = 1;
+    private static final int DIRTY_TOP_BAR = 2;
+    private static final int DIRTY_INVENTORY = 4;
+    private int dirty = 0;
+    private boolean refreshRequested = false;
+    // Every action on the game (ticks included) announces itself once; the
+    // refresh only touches what actually changed
+    private final Runnable onGameChanged = () -> markDirty(DIRTY_STATS | DIRTY_TOP_BAR | DIRTY_INVENTORY);
+    
+    // Values currently on screen, so a refresh only touches nodes that changed
+    private int shownHealth = Integer.MIN_VALUE;
+    private int shownMaxHealth = Integer.MIN_VALUE;
+    private int shownHappiness = Integer.MIN_VALUE;
+    private int shownFullness = Integer.MIN_VALUE;
+    private int shownEnergy = Integer.MIN_VALUE;
+    private int shownScore = Integer.MIN_VALUE;
+    private int shownCurrency = Integer.MIN_VALUE;
+    // Inventory counts, indexed by item ordinal
+    private final Text[] itemCountTexts = new Text[ItemCatalog.size()];
+    private final int[] shownItemCounts = new int[ItemCatalog.size()];
+    
+    // Game loop for periodic updates and the idle bobbing; both run only while the screen is shown
+    private Timeline gameLoop;
+    private Timeline idleAnimation;
+    private PetSimulation simulation;
+    
+    // Autosave once a minute of game time (every 12 ticks)
+    private static final int AUTOSAVE_TICKS = 12;
+    private int ticksSinceAutosave = 0;
     
     private VBox root;
     private VBox centerBox;
@@ -65,8 +102,14 @@ public class GameScreen {
     public GameScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
         this.pet = gameState.getPet();
+        this.simulation = new PetSimulation(pet, gameState::tick);
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("Game");
         createScene();
+        createDialogs();
+        setupGameLoop();
+        event.commit();
     }
     
     private void createScene() {
@@ -93,26 +136,22 @@ public class GameScreen {
         petArea.setStyle("-fx-background-color: #FAFAD2;");
         HBox.setHgrow(petArea, Priority.ALWAYS);
         
-        // Create pet sprite
-        String prefix = pet.getType().equalsIgnoreCase("Cat") ? "KITTY" : pet.getType().toUpperCase();
-        String spritePath = "images/" + prefix + "_NORMAL.png";
+        // Create pet sprite, bound to the pet's mood so a mood change is just an image swap
         try {
-            File imageFile = new File(spritePath);
-            System.out.println("Initial sprite loading: " + spritePath);
-            System.out.println("Pet type: " + pet.getType());
-            System.out.println("File exists: " + imageFile.exists());
-            System.out.println("File absolute path: " + imageFile.getAbsolutePath());
-            String imageURI = imageFile.toURI().toString();
-            System.out.println("Image URI: " + imageURI);
-            javafx.scene.image.Image image = new javafx.scene.image.Image(imageURI);
-            petSprite = new ImageView(image);
+            for (Pet.Mood mood : Pet.Mood.values()) {
+                petSprites.put(mood, SpriteCache.get(pet.getType(), mood));
+            }
+            petSprite = new ImageView();
+            petSprite.imageProperty().bind(Bindings.createObjectBinding(
+                () -> petSprites.get(pet.getMood()), pet.moodProperty()));
+            moodReset.setOnFinished(e -> PetSimulation.settle(pet));
             petSprite.setFitWidth(200);
             petSprite.setFitHeight(200);
             petSprite.setPreserveRatio(true);
             petSprite.setSmooth(true);
             
             // Add idle animation
-            Timeline idleAnimation = new Timeline(
+            idleAnimation = new Timeline(
                 new KeyFrame(Duration.ZERO, 
                     new KeyValue(petSprite.translateYProperty(), 0)
                 ),
@@ -124,12 +163,10 @@ public class GameScreen {
                 )
             );
             idleAnimation.setCycleCount(Timeline.INDEFINITE);
-            idleAnimation.play();
             
             petArea.getChildren().add(petSprite);
-            System.out.println("Initial sprite loaded successfully");
         } catch (Exception e) {
-            System.err.println("Error loading initial sprite: " + spritePath);
+            System.err.println("Error loading initial sprite for: " + pet.getType());
             System.err.println("Error details: " + e.getMessage());
             e.printStackTrace();
             // Create a colored rectangle as fallback
@@ -150,7 +187,11 @@ public class GameScreen {
         HBox bottomBar = createControls();
         root.setBottom(bottomBar);
 
-        scene = new Scene(root, 800, 600);
+        // Messages float over the screen instead of opening dialogs
+        scene = new Scene(new StackPane(root, toasts.getView()), 800, 600);
+        
+        // Apply pending UI changes once per pulse, just before layout
+        scene.addPreLayoutPulseListener(this::refresh);
         
         // Setup keyboard shortcuts
         setupKeyboardShortcuts();
@@ -180,10 +221,7 @@ public class GameScreen {
         
         // Add a back button
         Button backButton = createStyledButton("Back to Menu");
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenuScreen = new MainMenuScreen(stage, gameState);
-            mainMenuScreen.show();
-        });
+        backButton.setOnAction(e -> backToMenu());
 
         // Adding spacer to push save button to the right
         Region spacer = new Region();
@@ -207,31 +245,33 @@ public class GameScreen {
         Text foodTitle = new Text("Food:");
         foodTitle.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         
-        Text kibbleCount = new Text("Kibble: " + gameState.getItemCount("Kibble"));
-        Text treatsCount = new Text("Treats: " + gameState.getItemCount("Treats"));
-        Text premiumFoodCount = new Text("Premium Food: " + gameState.getItemCount("Premium Food"));
-        
-        foodItems.getChildren().addAll(foodTitle, kibbleCount, treatsCount, premiumFoodCount);
+        foodItems.getChildren().add(foodTitle);
+        addItemCounts(foodItems, ItemCatalog.Category.FOOD);
         
         // Display special items
         VBox specialItems = new VBox(5);
         Text specialTitle = new Text("Special Items:");
         specialTitle.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        
-        Text vaccineCount = new Text("Vaccine: " + gameState.getItemCount("Vaccine"));
-        specialItems.getChildren().addAll(specialTitle, vaccineCount);
+        specialItems.getChildren().add(specialTitle);
+        addItemCounts(specialItems, ItemCatalog.Category.SPECIAL);
         
         // Add shop button
         Button shopButton = createStyledButton("Go to Shop");
-        shopButton.setOnAction(e -> {
-            ShopScreen shopScreen = new ShopScreen(stage, gameState);
-            shopScreen.show();
-        });
+        shopButton.setOnAction(e -> navigator.show(ShopScreen.class, () -> new ShopScreen(stage, gameState)));
         
         inventoryBox.getChildren().addAll(inventoryTitle, foodItems, specialItems, shopButton);
         return inventoryBox;
     }
 
+    private void addItemCounts(VBox box, ItemCatalog.Category category) {
+        for (ItemCatalog.Item item : ItemCatalog.inCategory(category)) {
+            Text countText = new Text();
+            itemCountTexts[item.ordinal()] = countText;
+            shownItemCounts[item.ordinal()] = -1;
+            box.getChildren().add(countText);
+        }
+    }
+
     private VBox createStatsDisplay() {
         VBox statsBox = new VBox(15);
         statsBox.setPadding(new Insets(15));
@@ -255,7 +295,7 @@ public class GameScreen {
         energyText = new Text("Energy: " + pet.getEnergy());
         
         // Add a vet button
-        Button vetButton = createStyledButton("Visit Vet (50 Dabloons)");
+        Button vetButton = createStyledButton("Visit Vet (" + ActionTable.get().getCost(ActionTable.VET) + " Dabloons)");
         vetButton.setOnAction(e -> visitVet());
         
         statsBox.getChildren().addAll(
@@ -293,32 +333,35 @@ public class GameScreen {
     }
     
     private void setupGameLoop() {
-        gameLoop = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                // Update every 5 seconds (5,000,000,000 nanoseconds)
-                if (now - lastUpdate >= 5_000_000_000L) {
-                    lastUpdate = now;
-                    updatePetStats();
-                }
-            }
-        };
-        gameLoop.start();
+        // Wake up once per simulation tick instead of on every frame; the
+        // simulation's accumulator takes care of late or missed wake-ups
+        gameLoop = new Timeline(new KeyFrame(
+            Duration.millis(PetSimulation.TICK_NANOS / 1_000_000.0),
+            e -> updatePetStats()
+        ));
+        gameLoop.setCycleCount(Timeline.INDEFINITE);
     }
     
     private void updatePetStats() {
-        // Decrease stats over time
-        pet.decreaseFullness(1);
-        pet.decreaseEnergy(1);
-        pet.decreaseHappiness(1);
-        
-        // Health decreases if other stats are low
-        if (pet.getFullness() < 20 || pet.getEnergy() < 20 || pet.getHappiness() < 20) {
-            pet.decreaseHealth(1);
+        // Run whatever ticks are due and refresh the UI if anything changed
+        GameEvents.Tick event = new GameEvents.Tick();
+        long start = System.nanoTime();
+        int ticks = simulation.advance(start);
+        if (ticks > 0) {
+            Metrics.recordTicks(ticks, System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.ticks = ticks;
+                event.health = pet.getHealth();
+                event.happiness = pet.getHappiness();
+                event.fullness = pet.getFullness();
+                event.energy = pet.getEnergy();
+                event.commit();
+            }
+            ticksSinceAutosave += ticks;
+            if (ticksSinceAutosave >= AUTOSAVE_TICKS) {
+                autosave();
+            }
         }
-        
-        // Update the UI
-        updateStats();
     }
     
     private void setupKeyboardShortcuts() {
@@ -327,358 +370,242 @@ public class GameScreen {
                 case F -> showFeedOptions();
                 case P -> play();
                 case S -> sleep();
-                case ESCAPE -> {
-                    MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-                    mainMenu.show();
-                }
+                case ESCAPE -> backToMenu();
             }
         });
     }
     
-    private void showFeedOptions() {
-        // Create a modal dialog
-        Stage dialog = new Stage();
-        dialog.initModality(Modality.APPLICATION_MODAL);
-        dialog.initOwner(stage);
-        dialog.setTitle("Feed " + pet.getName());
-        
-        VBox content = new VBox(15);
-        content.setPadding(new Insets(20));
-        content.setAlignment(Pos.CENTER);
-        content.setStyle("-fx-background-color: #F5F5DC;");
-        
-        Text title = new Text("Select Food");
-        title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
-        
-        GridPane foodGrid = new GridPane();
-        foodGrid.setHgap(15);
-        foodGrid.setVgap(15);
-        foodGrid.setAlignment(Pos.CENTER);
-        
-        int row = 0;
-        int col = 0;
-        
-        // Create food items if they exist in inventory
-        if (gameState.getItemCount("Kibble") > 0) {
-            VBox kibbleBox = createFoodButton("Kibble", "Basic food (+10 Fullness)", dialog);
-            foodGrid.add(kibbleBox, col++, row);
-            if (col > 1) { col = 0; row++; }
-        }
-        
-        if (gameState.getItemCount("Treats") > 0) {
-            VBox treatsBox = createFoodButton("Treats", "Special treats (+15 Fullness, +5 Happiness)", dialog);
-            foodGrid.add(treatsBox, col++, row);
-            if (col > 1) { col = 0; row++; }
-        }
-        
-        if (gameState.getItemCount("Premium Food") > 0) {
-            VBox premiumBox = createFoodButton("Premium Food", "High quality food (+25 Fullness, +10 Happiness)", dialog);
-            foodGrid.add(premiumBox, col++, row);
-            if (col > 1) { col = 0; row++; }
-        }
-        
-        // If no food in inventory
-        if (row == 0 && col == 0) {
-            Text noFood = new Text("No food in inventory!\nVisit the shop to buy some.");
-            noFood.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-            foodGrid.add(noFood, 0, 0);
-        }
-        
-        Button closeButton = createStyledButton("Cancel");
-        closeButton.setOnAction(e -> dialog.close());
-        
-        content.getChildren().addAll(title, foodGrid, closeButton);
-        
-        Scene dialogScene = new Scene(content, 500, 400);
-        dialog.setScene(dialogScene);
-        dialog.showAndWait();
+    private void backToMenu() {
+        autosave();
+        navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState));
     }
     
-    private VBox createFoodButton(String name, String description, Stage dialog) {
-        VBox box = new VBox(10);
-        box.setAlignment(Pos.CENTER);
-        box.setPadding(new Insets(10));
-        box.setMinWidth(150);
-        box.setMinHeight(150);
-        box.setMaxWidth(150);
-        box.setStyle("-fx-border-color: #E0E0E0; -fx-border-radius: 5; -fx-background-color: #F8F8F8;");
-        
-        Text nameText = new Text(name);
-        nameText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        
-        Text descText = new Text(description);
-        descText.setWrappingWidth(130);
-        descText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        
-        Text countText = new Text("Available: " + gameState.getItemCount(name));
-        
-        box.getChildren().addAll(nameText, descText, countText);
-        
-        // Hover effect
-        box.setOnMouseEntered(e -> box.setStyle("-fx-border-color: #4CAF50; -fx-border-radius: 5; -fx-background-color: #F8F8F8;"));
-        box.setOnMouseExited(e -> box.setStyle("-fx-border-color: #E0E0E0; -fx-border-radius: 5; -fx-background-color: #F8F8F8;"));
-        
-        // Click effect
-        box.setOnMouseClicked(e -> {
-            feedPet(name);
-            dialog.close();
-        });
-        
-        return box;
+    private void createDialogs() {
+        feedDialog = new ItemPickerDialog(stage, "Feed " + pet.getName(), "Select Food",
+                "No food in inventory!\nVisit the shop to buy some.", 500, 400,
+                gameState::getItemCount, this::feedPet)
+            .addItems(ItemCatalog.inCategory(ItemCatalog.Category.FOOD));
+        
+        useItemDialog = new ItemPickerDialog(stage, "Use Item", "Select Item",
+                "No special items in inventory!\nVisit the shop to buy some.", 400, 350,
+                gameState::getItemCount, this::useItem)
+            .addItems(ItemCatalog.inCategory(ItemCatalog.Category.SPECIAL));
     }
     
-    private void feedPet(String foodName) {
-        // Check if the item is in inventory and remove it
-        if (gameState.useItem(foodName)) {
-            // Update sprite to hungry animation
-            updatePetSprite("HUNGRY");
-            
-            switch (foodName) {
-                case "Kibble":
-                    pet.increaseFullness(10);
-                    break;
-                case "Treats":
-                    pet.increaseFullness(15);
-                    pet.increaseHappiness(5);
-                    break;
-                case "Premium Food":
-                    pet.increaseFullness(25);
-                    pet.increaseHappiness(10);
-                    break;
-            }
-            // Add score for feeding
-            gameState.addScore(10);
-            updateStats();
-            updateTopBar();
+    private void showFeedOptions() {
+        feedDialog.showAndWait();
+    }
+    
+    private void feedPet(int food) {
+        GameEvents.Action event = new GameEvents.Action("feed", ItemCatalog.get(food).name());
+        // Use the item from the inventory and feed it to the pet
+        boolean fed = gameState.feedPet(food);
+        if (fed) {
+            // Show the eating sprite for a moment
+            showActionMood(Pet.State.EATING, ACTION_MOOD_TIME);
             
             // Show feeding animation
             scaleTransition(petSprite, 1.2, 0.2);
-            
-            // Return to normal sprite after delay
-            Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(2), e -> updatePetSprite("NORMAL")));
-            timeline.play();
+        } else if (gameState.getItemCount(food) > 0) {
+            toasts.show("Not Yet", pet.getName() + " isn't hungry again yet.");
         } else {
-            showAlert("No " + foodName, "You don't have any " + foodName + " in your inventory.");
+            String foodName = ItemCatalog.get(food).name();
+            toasts.show("No " + foodName, "You don't have any " + foodName + " in your inventory.");
         }
+        event.end(fed);
     }
     
     private void play() {
-        // Update sprite to happy/play animation
-        updatePetSprite("ANGRY"); // Use ANGRY for play animation
-        
-        // Increase happiness, decrease energy
-        pet.increaseHappiness(15);
-        pet.decreaseEnergy(10);
-        
-        // Add score and earn dabloons
-        gameState.addScore(15);
-        int earnedDabloons = 5 + (int)(Math.random() * 5); // 5-9 dabloons
-        gameState.addCurrency(earnedDabloons);
-        
-        showAlert("Playing!", "You played with " + pet.getName() + ".\nHappiness +15, Energy -10\nEarned " + earnedDabloons + " dabloons!\nScore +15");
+        GameEvents.Action event = new GameEvents.Action("play", null);
+        // Increase happiness, decrease energy, add score and earn dabloons, as in the action table
+        int earnedDabloons = gameState.playWithPet();
+        if (earnedDabloons < 0) {
+            toasts.show("Not Yet", pet.getName() + " isn't ready to play again yet.");
+            event.end(false);
+            return;
+        }
         
-        // Update the UI to reflect changes
-        updateStats();
-        updateTopBar();
+        // Show the playing sprite for a moment
+        showActionMood(Pet.State.PLAYING, ACTION_MOOD_TIME);
         
-        // Return to normal sprite after delay
-        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(2), e -> updatePetSprite("NORMAL")));
-        timeline.play();
+        toasts.show("Playing!", "You played with " + pet.getName() + ".\n" + actionSummary(ActionTable.PLAY, earnedDabloons));
+        event.dabloons = earnedDabloons;
+        event.end(true);
     }
     
     private void sleep() {
-        // Update sprite to sleep animation
-        updatePetSprite("SLEEP");
-        
-        // Increase energy, decrease happiness slightly
-        pet.increaseEnergy(25);
-        pet.decreaseHappiness(5);
-        
-        // Add score and earn dabloons
-        gameState.addScore(10);
-        int earnedDabloons = 3 + (int)(Math.random() * 3); // 3-5 dabloons
-        gameState.addCurrency(earnedDabloons);
-        
-        showAlert("Sleeping!", pet.getName() + " is sleeping.\nEnergy +25, Happiness -5\nEarned " + earnedDabloons + " dabloons!\nScore +10");
+        GameEvents.Action event = new GameEvents.Action("sleep", null);
+        // Increase energy, decrease happiness slightly, add score and earn dabloons, as in the action table
+        int earnedDabloons = gameState.sleepPet();
+        if (earnedDabloons < 0) {
+            toasts.show("Not Yet", pet.getName() + " isn't tired enough to sleep again yet.");
+            event.end(false);
+            return;
+        }
         
-        // Update the UI to reflect changes
-        updateStats();
-        updateTopBar();
+        // Show the sleeping sprite for a moment
+        showActionMood(Pet.State.SLEEPING, SLEEP_MOOD_TIME);
         
-        // Return to normal sprite after delay
-        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(3), e -> updatePetSprite("NORMAL")));
-        timeline.play();
+        toasts.show("Sleeping!", pet.getName() + " is sleeping.\n" + actionSummary(ActionTable.SLEEP, earnedDabloons));
+        event.dabloons = earnedDabloons;
+        event.end(true);
     }
     
-    private void showUseItemOptions() {
-        // Create a modal dialog
-        Stage dialog = new Stage();
-        dialog.initModality(Modality.APPLICATION_MODAL);
-        dialog.initOwner(stage);
-        dialog.setTitle("Use Item");
-        
-        VBox content = new VBox(15);
-        content.setPadding(new Insets(20));
-        content.setAlignment(Pos.CENTER);
-        content.setStyle("-fx-background-color: #F5F5DC;");
-        
-        Text title = new Text("Select Item");
-        title.setFont(Font.font("Arial", FontWeight.BOLD, 24));
-        
-        GridPane itemGrid = new GridPane();
-        itemGrid.setHgap(15);
-        itemGrid.setVgap(15);
-        itemGrid.setAlignment(Pos.CENTER);
-        
-        // Check if vaccine is available
-        if (gameState.getItemCount("Vaccine") > 0) {
-            VBox vaccineBox = createItemButton("Vaccine", "Increases max health (+20 Max Health)", dialog);
-            itemGrid.add(vaccineBox, 0, 0);
-        } else {
-            Text noItems = new Text("No special items in inventory!\nVisit the shop to buy some.");
-            noItems.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-            itemGrid.add(noItems, 0, 0);
+    /**
+     * What an action did, e.g. "+15 Happiness, -10 Energy\nEarned 7 dabloons!\nScore +15".
+     */
+    private static String actionSummary(int row, int earnedDabloons) {
+        ActionTable actions = ActionTable.get();
+        StringBuilder text = new StringBuilder(actions.describe(row));
+        if (earnedDabloons > 0) {
+            text.append(text.length() > 0 ? "\n" : "").append("Earned ").append(earnedDabloons).append(" dabloons!");
         }
-        
-        Button closeButton = createStyledButton("Cancel");
-        closeButton.setOnAction(e -> dialog.close());
-        
-        content.getChildren().addAll(title, itemGrid, closeButton);
-        
-        Scene dialogScene = new Scene(content, 400, 350);
-        dialog.setScene(dialogScene);
-        dialog.showAndWait();
+        if (actions.getScore(row) != 0) {
+            text.append(text.length() > 0 ? "\n" : "").append("Score +").append(actions.getScore(row));
+        }
+        return text.toString();
     }
     
-    private VBox createItemButton(String name, String description, Stage dialog) {
-        VBox box = new VBox(10);
-        box.setAlignment(Pos.CENTER);
-        box.setPadding(new Insets(10));
-        box.setMinWidth(150);
-        box.setMinHeight(150);
-        box.setMaxWidth(150);
-        box.setStyle("-fx-border-color: #E0E0E0; -fx-border-radius: 5; -fx-background-color: #F8F8F8;");
-        
-        Text nameText = new Text(name);
-        nameText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        
-        Text descText = new Text(description);
-        descText.setWrappingWidth(130);
-        descText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        
-        Text countText = new Text("Available: " + gameState.getItemCount(name));
-        
-        box.getChildren().addAll(nameText, descText, countText);
-        
-        // Hover effect
-        box.setOnMouseEntered(e -> box.setStyle("-fx-border-color: #4CAF50; -fx-border-radius: 5; -fx-background-color: #F8F8F8;"));
-        box.setOnMouseExited(e -> box.setStyle("-fx-border-color: #E0E0E0; -fx-border-radius: 5; -fx-background-color: #F8F8F8;"));
-        
-        // Click effect
-        box.setOnMouseClicked(e -> {
-            useItem(name);
-            dialog.close();
-        });
-        
-        return box;
+    private void showUseItemOptions() {
+        useItemDialog.showAndWait();
     }
     
-    private void useItem(String itemName) {
+    private void useItem(int itemOrdinal) {
+        ItemCatalog.Item item = ItemCatalog.get(itemOrdinal);
+        String itemName = item.name();
+        GameEvents.Action event = new GameEvents.Action("useItem", itemName);
         // Check if the item is in inventory and remove it
-        if (gameState.useItem(itemName)) {
-            if ("Vaccine".equals(itemName)) {
-                pet.increaseMaxHealth(20);
-                pet.setHealth(pet.getMaxHealth()); // Heal to full when increasing max health
-                showAlert("Vaccine Used", "Your pet's maximum health has been increased by 20!");
-            }
-            updateStats();
+        boolean used = gameState.useSpecialItem(itemOrdinal);
+        if (used) {
+            int maxHealth = ActionTable.get().getMaxHealth(ActionTable.itemRow(itemOrdinal));
+            toasts.show(itemName + " Used", maxHealth > 0
+                ? "Your pet's maximum health has been increased by " + maxHealth + "!"
+                : item.description());
+        } else if (gameState.getItemCount(itemOrdinal) > 0) {
+            toasts.show("Not Yet", "You can't use another " + itemName + " yet.");
         } else {
-            showAlert("No " + itemName, "You don't have any " + itemName + " in your inventory.");
+            toasts.show("No " + itemName, "You don't have any " + itemName + " in your inventory.");
         }
+        event.end(used);
     }
     
     private void visitVet() {
-        // Check if the player has enough currency
-        if (gameState.getCurrency() >= 50) {
-            // Deduct the cost
-            gameState.addCurrency(-50);
-            
-            // Heal the pet to full health
-            pet.setHealth(pet.getMaxHealth());
-            
-            // Add score
-            gameState.addScore(20);
-            
-            // Update the display
-            updateStats();
-            updateTopBar();
-            
-            showAlert("Vet Visit", "Your pet has been healed to full health!\nScore +20");
+        GameEvents.Action event = new GameEvents.Action("vet", null);
+        // Pay to heal the pet to full health, if the player can afford it
+        int cost = ActionTable.get().getCost(ActionTable.VET);
+        boolean visited = gameState.visitVet();
+        if (visited) {
+            toasts.show("Vet Visit", "Your pet has been healed to full health!\n" + actionSummary(ActionTable.VET, 0));
+        } else if (gameState.getCurrency() < cost) {
+            toasts.show("Not Enough Dabloons", "You need " + cost + " dabloons to visit the vet.");
         } else {
-            showAlert("Not Enough Dabloons", "You need 50 dabloons to visit the vet.");
+            toasts.show("Not Yet", "The vet can't see " + pet.getName() + " again yet.");
         }
+        event.end(visited);
     }
     
     private void saveGame() {
-        String petType = pet.getType().toLowerCase();
-        String saveDirectory = "saves";
-        File saveDir = new File(saveDirectory);
-        if (!saveDir.exists()) {
-            saveDir.mkdir();
+        // Snapshot now, write in the background, confirm when it's on disk
+        GameEvents.Save event = new GameEvents.Save("snapshot", String.valueOf(gameState.getSavePath()));
+        CompletableFuture<Path> saved = gameState.checkpoint();
+        event.end(!saved.isCompletedExceptionally());
+        saved
+            .whenComplete((path, error) -> Platform.runLater(() -> {
+                if (error == null) {
+                    System.out.println("Game saved to " + path);
+                    toasts.show("Game Saved", "Your game has been saved to: " + path);
+                } else {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Save Error");
+                    alert.setHeaderText("Could Not Save Game");
+                    alert.setContentText("An error occurred while saving the game: " + cause.getMessage());
+                    alert.show();
+                }
+            }));
+    }
+    
+    /**
+     * Saves quietly in the background, e.g. periodically or when leaving the game screen.
+     * This also compacts the action journal into the save.
+     */
+    private void autosave() {
+        ticksSinceAutosave = 0;
+        gameState.checkpoint();
+    }
+    
+    /**
+     * Marks parts of the screen as out of date. However many changes happen
+     * in one frame, they are applied together by a single refresh on the next pulse.
+     */
+    private void markDirty(int parts) {
+        dirty |= parts;
+        if (!refreshRequested) {
+            refreshRequested = true;
+            Platform.requestNextPulse();
+        }
+    }
+    
+    private void refresh() {
+        if (dirty == 0) {
+            return;
         }
+        int parts = dirty;
+        dirty = 0;
+        refreshRequested = false;
         
-        String fileName = saveDirectory + "/" + petType + "_save.txt";
-        try (java.io.PrintWriter writer = new java.io.PrintWriter(new java.io.File(fileName))) {
-            // Save pet information
-            writer.println("name=" + pet.getName());
-            writer.println("type=" + pet.getType());
-            writer.println("health=" + pet.getHealth());
-            writer.println("maxHealth=" + pet.getMaxHealth());
-            writer.println("energy=" + pet.getEnergy());
-            writer.println("fullness=" + pet.getFullness());
-            writer.println("happiness=" + pet.getHappiness());
-            
-            // Save game state information
-            writer.println("currency=" + gameState.getCurrency());
-            writer.println("score=" + gameState.getScore());
-            
-            // Save inventory
-            writer.println("kibble=" + gameState.getItemCount("Kibble"));
-            writer.println("treats=" + gameState.getItemCount("Treats"));
-            writer.println("premiumFood=" + gameState.getItemCount("Premium Food"));
-            writer.println("vaccine=" + gameState.getItemCount("Vaccine"));
-            
-            System.out.println("Game saved to " + fileName);
-            
-            // Show confirmation
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Game Saved");
-            alert.setHeaderText("Game Saved Successfully");
-            alert.setContentText("Your game has been saved to: " + fileName);
-            alert.showAndWait();
-            
-        } catch (Exception e) {
-            System.err.println("Error saving game: " + e.getMessage());
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Save Error");
-            alert.setHeaderText("Could Not Save Game");
-            alert.setContentText("An error occurred while saving the game: " + e.getMessage());
-            alert.showAndWait();
+        if ((parts & DIRTY_STATS) != 0) {
+            updateStats();
+        }
+        if ((parts & DIRTY_TOP_BAR) != 0) {
+            updateTopBar();
+        }
+        if ((parts & DIRTY_INVENTORY) != 0) {
+            updateInventory();
+        }
+    }
+    
+    private void updateInventory() {
+        for (int item = 0; item < itemCountTexts.length; item++) {
+            int count = gameState.getItemCount(item);
+            if (count != shownItemCounts[item]) {
+                itemCountTexts[item].setText(ItemCatalog.get(item).name() + ": " + count);
+                shownItemCounts[item] = count;
+            }
         }
     }
     
     private void updateStats() {
-        // Update text displays
-        healthText.setText("Health: " + pet.getHealth() + "/" + pet.getMaxHealth());
-        happinessText.setText("Happiness: " + pet.getHappiness());
-        fullnessText.setText("Fullness: " + pet.getFullness());
-        energyText.setText("Energy: " + pet.getEnergy());
+        // Update only the text displays and progress bars whose value changed
+        int health = pet.getHealth();
+        int maxHealth = pet.getMaxHealth();
+        if (health != shownHealth || maxHealth != shownMaxHealth) {
+            healthText.setText("Health: " + health + "/" + maxHealth);
+            healthBar.setProgress(health / 100.0);
+            shownHealth = health;
+            shownMaxHealth = maxHealth;
+        }
+        
+        int happiness = pet.getHappiness();
+        if (happiness != shownHappiness) {
+            happinessText.setText("Happiness: " + happiness);
+            happinessBar.setProgress(happiness / 100.0);
+            shownHappiness = happiness;
+        }
+        
+        int fullness = pet.getFullness();
+        if (fullness != shownFullness) {
+            fullnessText.setText("Fullness: " + fullness);
+            fullnessBar.setProgress(fullness / 100.0);
+            shownFullness = fullness;
+        }
         
-        // Update progress bars
-        healthBar.setProgress(pet.getHealth() / 100.0);
-        happinessBar.setProgress(pet.getHappiness() / 100.0);
-        fullnessBar.setProgress(pet.getFullness() / 100.0);
-        energyBar.setProgress(pet.getEnergy() / 100.0);
+        int energy = pet.getEnergy();
+        if (energy != shownEnergy) {
+            energyText.setText("Energy: " + energy);
+            energyBar.setProgress(energy / 100.0);
+            shownEnergy = energy;
+        }
     }
     
     private ProgressBar createStatusBar(int currentValue, Color color) {
@@ -708,11 +635,6 @@ public class GameScreen {
         }
     }
     
-    private void showFeedingAnimation() {
-        // Animation effect when feeding the pet
-        scaleTransition(petSprite, 1.2, 0.2);
-    }
-    
     private void scaleTransition(ImageView node, double scale, double duration) {
         ScaleTransition st = new ScaleTransition(javafx.util.Duration.seconds(duration), node);
         st.setFromX(1.0);
@@ -757,50 +679,75 @@ public class GameScreen {
         return button;
     }
     
-    private void showAlert(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
-    }
-    
+    /**
+     * Shows this screen as the current game, replacing the screen of any earlier game.
+     */
     public void show() {
-        stage.setTitle("Virtual Pet Game - " + pet.getName());
-        stage.setScene(scene);
+        navigator.showNew(this);
         stage.show();
-        setupGameLoop();
+    }
+    
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+    
+    @Override
+    public String getTitle() {
+        return "Virtual Pet Game - " + pet.getName();
+    }
+    
+    @Override
+    public void onShow() {
+        // Time spent on other screens doesn't count, as before; restart the clock
+        simulation.reset();
+        simulation.advance(System.nanoTime());
+        // The shop may have changed the inventory while this screen was hidden
+        markDirty(DIRTY_STATS | DIRTY_TOP_BAR | DIRTY_INVENTORY);
+        gameState.addListener(onGameChanged);
+        gameLoop.play();
+        if (idleAnimation != null) {
+            idleAnimation.play();
+        }
+    }
+    
+    @Override
+    public void onHide() {
+        stop();
     }
     
     public void stop() {
-        if (gameLoop != null) {
-            gameLoop.stop();
+        gameState.removeListener(onGameChanged);
+        gameLoop.stop();
+        if (idleAnimation != null) {
+            idleAnimation.pause();
         }
+        moodReset.stop();
+        PetSimulation.settle(pet);
     }
     
     private void updateTopBar() {
-        scoreText.setText("Score: " + gameState.getScore());
-        currencyText.setText("Dabloons: " + gameState.getCurrency());
+        int score = gameState.getScore();
+        if (score != shownScore) {
+            scoreText.setText("Score: " + score);
+            shownScore = score;
+        }
+        
+        int currency = gameState.getCurrency();
+        if (currency != shownCurrency) {
+            currencyText.setText("Dabloons: " + currency);
+            shownCurrency = currency;
+        }
     }
     
-    private void updatePetSprite(String state) {
-        String prefix = pet.getType().equalsIgnoreCase("Cat") ? "KITTY" : pet.getType().toUpperCase();
-        String spritePath = "images/" + prefix + "_" + state + ".png";
-        try {
-            File imageFile = new File(spritePath);
-            System.out.println("Attempting to load sprite: " + spritePath);
-            System.out.println("Pet type: " + pet.getType());
-            System.out.println("File exists: " + imageFile.exists());
-            System.out.println("File absolute path: " + imageFile.getAbsolutePath());
-            String imageURI = imageFile.toURI().toString();
-            System.out.println("Image URI: " + imageURI);
-            javafx.scene.image.Image image = new javafx.scene.image.Image(imageURI);
-            petSprite.setImage(image);
-            System.out.println("Sprite updated successfully");
-        } catch (Exception e) {
-            System.err.println("Error updating sprite: " + spritePath);
-            System.err.println("Error details: " + e.getMessage());
-            e.printStackTrace();
-        }
+    /**
+     * Puts the pet in an action state (which changes its mood and sprite), then
+     * lets it settle back to its resting state after the given delay.
+     */
+    private void showActionMood(Pet.State actionState, Duration duration) {
+        pet.setState(actionState);
+        moodReset.stop();
+        moodReset.setDuration(duration);
+        moodReset.playFromStart();
     }
 } 
\ No newline at end of file
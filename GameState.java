@@ -1,14 +1,19 @@
 /**
  * Manages the overall state of the game, including the current pet, player, and game settings.
+ * Progress, inventory and the pet's actions are guarded by this object's
+ * monitor, so checks such as "has enough dabloons" and the update they allow
+ * happen atomically even when several threads act on the same game.
  */
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.io.PrintWriter;
-import java.io.File;
 import java.io.IOException;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class GameState {
     private boolean isMuted = false;
@@ -45,33 +50,100 @@ public class GameState {
     private double sfxVolume = 0.8;
     private double musicVolume = 0.5;
     
-    // Inventory system
-    private java.util.Map<String, Integer> inventory = new java.util.HashMap<>();
+    // Inventory system: how many of each item the player has, indexed by item ordinal
+    private int[] inventory = ItemCatalog.startingInventory();
+    
+    // The save slot being played, and the journal that records every action
+    // in it for crash recovery
+    private Path savePath;
+    private ActionJournal journal;
+    
+    // Every reward and chance roll comes from this, so a game replays exactly
+    private PetRandom random = PetRandom.newSeeded();
+    
+    // What each action does, and when each one can next be done. The clock
+    // counts simulation ticks since the game was started or loaded.
+    private final ActionTable actions = ActionTable.get();
+    private final long[] readyAt = new long[actions.rows()];
+    private long clock = 0;
+    
+    // While apply() runs, actions are collected here and journaled and
+    // announced once, at the end
+    private int batchDepth = 0;
+    private final List<Action> batch = new ArrayList<>();
+    private Pet batchPet;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * One action for {@link #apply(List)}. The types are the journal's codes,
+     * so a batch is journaled just as it was given.
+     * @param type What to do, e.g. {@link ActionJournal#FEED}
+     * @param item The item's ordinal, or -1 for actions without one
+     * @param value Ticks to run, or how many to buy; unused by other actions
+     */
+    public record Action(byte type, int item, int value) {
+        public static Action feed(int food) {
+            return new Action(ActionJournal.FEED, food, 0);
+        }
+
+        public static Action play() {
+            return new Action(ActionJournal.PLAY, -1, 0);
+        }
+
+        public static Action sleep() {
+            return new Action(ActionJournal.SLEEP, -1, 0);
+        }
+
+        public static Action vet() {
+            return new Action(ActionJournal.VET, -1, 0);
+        }
+
+        public static Action use(int item) {
+            return new Action(ActionJournal.USE_ITEM, item, 0);
+        }
+
+        public static Action buy(int item, int quantity) {
+            return new Action(ActionJournal.PURCHASE_MANY, item, quantity);
+        }
+
+        public static Action tick(int ticks) {
+            return new Action(ActionJournal.TICK, -1, ticks);
+        }
+    }
+    
+    // Outcome of trying to buy an item
+    public enum PurchaseResult {
+        OK,
+        NOT_ENOUGH_CURRENCY,
+        INVENTORY_FULL
+    }
     
     public GameState() {
-        // Initialize inventory with some default items
-        inventory.put("Kibble", 3);
-        inventory.put("Treats", 3);
-        inventory.put("Premium Food", 3);
-        inventory.put("Vaccine", 1);
-        
         // Set creation date
         this.creationDate = java.time.LocalDateTime.now().toString();
     }
     
     // Game management methods
-    public void startNewGame(String playerName, Pet pet) {
+    public synchronized void startNewGame(String playerName, Pet pet) {
         this.playerName = playerName;
         this.pet = pet;
+        this.random = PetRandom.newSeeded();
         this.score = 0;
         this.currency = 100; // Start with 100 dabloons
+        resetCooldowns();
+    }
+
+    // Cooldowns aren't saved; a new or loaded game starts with every action ready
+    private void resetCooldowns() {
+        clock = 0;
+        Arrays.fill(readyAt, 0);
     }
     
-    public void addScore(int amount) {
+    public synchronized void addScore(int amount) {
         this.score = Math.max(0, this.score + amount);
     }
     
-    public int getScore() {
+    public synchronized int getScore() {
         return score;
     }
     
@@ -80,44 +152,64 @@ public class GameState {
         return playerName;
     }
     
-    public Pet getPet() {
+    public synchronized Pet getPet() {
         return pet;
     }
     
     // Currency methods
-    public int getCurrency() {
+    public synchronized int getCurrency() {
         return currency;
     }
     
-    public void addCurrency(int amount) {
+    public synchronized void addCurrency(int amount) {
         this.currency += amount;
     }
     
-    // Inventory methods
-    public int getItemCount(String itemName) {
-        return inventory.getOrDefault(itemName, 0);
+    // Inventory methods. The String versions look the item up in the
+    // ItemCatalog once and call the ordinal versions.
+    public synchronized int getItemCount(String itemName) {
+        int item = ItemCatalog.ordinalOf(itemName);
+        return item >= 0 ? inventory[item] : 0;
     }
     
-    public boolean useItem(String itemName) {
-        int currentCount = getItemCount(itemName);
-        if (currentCount > 0) {
-            inventory.put(itemName, currentCount - 1);
+    public synchronized int getItemCount(int item) {
+        return inventory[item];
+    }
+    
+    public synchronized boolean useItem(String itemName) {
+        int item = ItemCatalog.ordinalOf(itemName);
+        return item >= 0 && useItem(item);
+    }
+    
+    public synchronized boolean useItem(int item) {
+        if (inventory[item] > 0) {
+            inventory[item]--;
             return true;
         }
         return false;
     }
     
-    public void addItem(String itemName, int amount) {
-        int currentCount = getItemCount(itemName);
-        
-        // Limit food items to 3 maximum
-        if (!itemName.equals("Vaccine")) {
-            currentCount = Math.min(currentCount + amount, 3);
-        } else {
-            currentCount += amount;
+    /**
+     * Returns what an item costs in the shop, or -1 if the shop doesn't sell it.
+     */
+    public static int getItemPrice(String itemName) {
+        ItemCatalog.Item item = ItemCatalog.byName(itemName);
+        return item != null ? item.price() : -1;
+    }
+    
+    public synchronized void addItem(String itemName, int amount) {
+        int item = ItemCatalog.ordinalOf(itemName);
+        if (item >= 0) {
+            addItem(item, amount);
         }
-        
-        inventory.put(itemName, currentCount);
+    }
+    
+    /**
+     * Adds items to the inventory, up to the item's stack cap.
+     */
+    public synchronized void addItem(int item, int amount) {
+        int cap = ItemCatalog.get(item).stackCap();
+        inventory[item] = (int) Math.min((long) inventory[item] + amount, cap);
     }
     
     // Parental controls methods
@@ -231,44 +323,14 @@ public class GameState {
 
     // Add to save game method
     public void saveToFile(String fileName) {
-        try (PrintWriter writer = new PrintWriter(new File(fileName))) {
-            // Basic info
-            writer.println("playerName=" + playerName);
-            writer.println("petName=" + pet.getName());
-            writer.println("petType=" + pet.getType());
-            writer.println("creationDate=" + creationDate);
-
-            // Pet stats
-            writer.println("health=" + pet.getHealth());
-            writer.println("maxHealth=" + pet.getMaxHealth());
-            writer.println("happiness=" + pet.getHappiness());
-            writer.println("fullness=" + pet.getFullness());
-            writer.println("energy=" + pet.getEnergy());
-
-            // Game progress
-            writer.println("score=" + score);
-            writer.println("currency=" + currency);
-
-            // Parental controls
-            writer.println("parentalPassword=" + parentalPassword);
-            writer.println("dailyTimeLimit=" + dailyTimeLimit);
-            writer.println("allowedStartTime=" + allowedStartTime);
-            writer.println("allowedEndTime=" + allowedEndTime);
-
-            // Game statistics
-            writer.println("totalPlayTime=" + totalPlayTime);
-            writer.println("totalFeedings=" + totalFeedings);
-            writer.println("totalPlaySessions=" + totalPlaySessions);
-            writer.println("totalVetVisits=" + totalVetVisits);
-            writer.println("healthSum=" + healthSum);
-            writer.println("healthReadings=" + healthReadings);
-
-            // Inventory
-            for (Map.Entry<String, Integer> entry : inventory.entrySet()) {
-                writer.println("inventory." + entry.getKey() + "=" + entry.getValue());
-            }
-
+        GameEvents.Save event = new GameEvents.Save("saveToFile", fileName);
+        try {
+            long start = System.nanoTime();
+            SaveCodec.write(Path.of(fileName), toSaveRecord());
+            Metrics.SAVE_TIME.record(System.nanoTime() - start);
+            event.end(true);
         } catch (IOException e) {
+            event.end(false);
             e.printStackTrace();
             System.err.println("Failed to save game state to " + fileName);
         }
@@ -276,92 +338,403 @@ public class GameState {
 
     // Add to load game method
     public void loadFromFile(String fileName) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split("=");
-                if (parts.length == 2) {
-                    String key = parts[0];
-                    String value = parts[1];
-
-                    switch (key) {
-                        // Basic info
-                        case "playerName" -> playerName = value;
-                        case "petName" -> pet.setName(value);
-                        case "petType" -> pet.setType(value);
-                        case "creationDate" -> creationDate = value;
-
-                        // Pet stats
-                        case "health" -> pet.setHealth((int) Double.parseDouble(value));
-                        case "maxHealth" -> pet.setMaxHealth((int) Double.parseDouble(value));
-                        case "happiness" -> pet.setHappiness((int) Double.parseDouble(value));
-                        case "fullness" -> pet.setFullness((int) Double.parseDouble(value));
-                        case "energy" -> pet.setEnergy((int) Double.parseDouble(value));
-
-                        // Game progress
-                        case "score" -> score = Integer.parseInt(value);
-                        case "currency" -> currency = Integer.parseInt(value);
-
-                        // Parental controls
-                        case "parentalPassword" -> parentalPassword = value;
-                        case "dailyTimeLimit" -> dailyTimeLimit = Integer.parseInt(value);
-                        case "allowedStartTime" -> allowedStartTime = LocalTime.parse(value);
-                        case "allowedEndTime" -> allowedEndTime = LocalTime.parse(value);
-
-                        // Game statistics
-                        case "totalPlayTime" -> totalPlayTime = Long.parseLong(value);
-                        case "totalFeedings" -> totalFeedings = Integer.parseInt(value);
-                        case "totalPlaySessions" -> totalPlaySessions = Integer.parseInt(value);
-                        case "totalVetVisits" -> totalVetVisits = Integer.parseInt(value);
-                        case "healthSum" -> healthSum = Double.parseDouble(value);
-                        case "healthReadings" -> healthReadings = Integer.parseInt(value);
-
-                        // Inventory
-                        default -> {
-                            if (key.startsWith("inventory.")) {
-                                String itemName = key.substring("inventory.".length());
-                                inventory.put(itemName, Integer.parseInt(value));
-                            }
-                        }
+        GameEvents.Load event = new GameEvents.Load(fileName);
+        try {
+            long start = System.nanoTime();
+            SaveRecord record = SaveCodec.read(Path.of(fileName));
+            applySaveRecord(record);
+            catchUp(record.getLong(SaveField.LAST_SIMULATED), 0);
+            Metrics.LOAD_TIME.record(System.nanoTime() - start);
+            event.end(true);
+        } catch (IOException e) {
+            event.end(false);
+            e.printStackTrace();
+            System.err.println("Failed to load game state from " + fileName);
+        }
+    }
+
+    /**
+     * Copies everything that gets saved out of the game state.
+     */
+    public synchronized SaveRecord toSaveRecord() {
+        SaveRecord record = new SaveRecord();
+
+        // Pet
+        if (pet != null) {
+            record.setString(SaveField.NAME, pet.getName());
+            record.setString(SaveField.TYPE, pet.getType());
+            record.setInt(SaveField.HEALTH, pet.getHealth());
+            record.setInt(SaveField.MAX_HEALTH, pet.getMaxHealth());
+            record.setInt(SaveField.HAPPINESS, pet.getHappiness());
+            record.setInt(SaveField.FULLNESS, pet.getFullness());
+            record.setInt(SaveField.ENERGY, pet.getEnergy());
+        }
+
+        // Game progress
+        record.setInt(SaveField.CURRENCY, currency);
+        record.setInt(SaveField.SCORE, score);
+        // Remember when the pet was last simulated so loading can catch up
+        record.setLong(SaveField.LAST_SIMULATED, System.currentTimeMillis());
+
+        // Inventory
+        for (ItemCatalog.Item item : ItemCatalog.all()) {
+            record.setInt(item.saveField(), inventory[item.ordinal()]);
+        }
+
+        // Basic info and parental controls
+        record.setString(SaveField.PLAYER_NAME, playerName);
+        record.setString(SaveField.CREATION_DATE, creationDate);
+        record.setString(SaveField.PARENTAL_PASSWORD, parentalPassword);
+        record.setInt(SaveField.DAILY_TIME_LIMIT, dailyTimeLimit);
+        record.setLong(SaveField.ALLOWED_START_TIME, allowedStartTime.toSecondOfDay());
+        record.setLong(SaveField.ALLOWED_END_TIME, allowedEndTime.toSecondOfDay());
+
+        // Game statistics
+        record.setLong(SaveField.TOTAL_PLAY_TIME, totalPlayTime);
+        record.setInt(SaveField.TOTAL_FEEDINGS, totalFeedings);
+        record.setInt(SaveField.TOTAL_PLAY_SESSIONS, totalPlaySessions);
+        record.setInt(SaveField.TOTAL_VET_VISITS, totalVetVisits);
+        record.setDouble(SaveField.HEALTH_SUM, healthSum);
+        record.setInt(SaveField.HEALTH_READINGS, healthReadings);
+
+        // Random stream
+        record.setLong(SaveField.RNG_SEED, random.getSeed());
+        record.setLong(SaveField.RNG_COUNT, random.getCount());
+        return record;
+    }
+
+    /**
+     * Restores the game state from a save. Fields missing from the save keep
+     * their current values.
+     */
+    public synchronized void applySaveRecord(SaveRecord record) {
+        resetCooldowns();
+
+        // Pet (max health first, since health is clamped to it)
+        if (record.has(SaveField.NAME) && record.has(SaveField.TYPE)) {
+            pet = new Pet(record.getString(SaveField.NAME), record.getString(SaveField.TYPE));
+        }
+        if (pet != null && record.has(SaveField.MAX_HEALTH)) {
+            pet.setMaxHealth(record.getInt(SaveField.MAX_HEALTH));
+        }
+
+        for (SaveField field : SaveField.values()) {
+            if (!record.has(field)) {
+                continue;
+            }
+            switch (field) {
+                // Pet stats
+                case HEALTH -> {
+                    if (pet != null) {
+                        pet.setHealth(record.getInt(field));
+                    }
+                }
+                case HAPPINESS -> {
+                    if (pet != null) {
+                        pet.setHappiness(record.getInt(field));
+                    }
+                }
+                case FULLNESS -> {
+                    if (pet != null) {
+                        pet.setFullness(record.getInt(field));
+                    }
+                }
+                case ENERGY -> {
+                    if (pet != null) {
+                        pet.setEnergy(record.getInt(field));
+                    }
+                }
+
+                // Game progress
+                case CURRENCY -> currency = record.getInt(field);
+                case SCORE -> score = record.getInt(field);
+
+                // Basic info and parental controls
+                case PLAYER_NAME -> playerName = record.getString(field);
+                case CREATION_DATE -> creationDate = record.getString(field);
+                case PARENTAL_PASSWORD -> parentalPassword = record.getString(field);
+                case DAILY_TIME_LIMIT -> dailyTimeLimit = record.getInt(field);
+                case ALLOWED_START_TIME -> allowedStartTime = LocalTime.ofSecondOfDay(record.getLong(field));
+                case ALLOWED_END_TIME -> allowedEndTime = LocalTime.ofSecondOfDay(record.getLong(field));
+
+                // Game statistics
+                case TOTAL_PLAY_TIME -> totalPlayTime = record.getLong(field);
+                case TOTAL_FEEDINGS -> totalFeedings = record.getInt(field);
+                case TOTAL_PLAY_SESSIONS -> totalPlaySessions = record.getInt(field);
+                case TOTAL_VET_VISITS -> totalVetVisits = record.getInt(field);
+                case HEALTH_SUM -> healthSum = record.getDouble(field);
+                case HEALTH_READINGS -> healthReadings = record.getInt(field);
+
+                // Inventory counts, one field per catalog item. Anything else is
+                // handled above or below, or only used when catching up and recovering.
+                default -> {
+                    ItemCatalog.Item item = ItemCatalog.forSaveField(field);
+                    if (item != null) {
+                        inventory[item.ordinal()] = record.getInt(field);
                     }
                 }
             }
+        }
+
+        // Older saves have no random stream and keep a freshly seeded one
+        if (record.has(SaveField.RNG_SEED)) {
+            random = new PetRandom(record.getLong(SaveField.RNG_SEED), record.getLong(SaveField.RNG_COUNT));
+        }
+    }
+
+    /**
+     * The game's random stream, for any reward or chance roll.
+     * Must only be used while holding this game state's lock.
+     */
+    public synchronized PetRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Applies the time that passed while the game was closed.
+     * @param lastSimulatedMillis When the pet was last simulated, from the save
+     * @param simulatedTicks Ticks since then that were already applied (e.g. replayed from the journal)
+     */
+    public synchronized void catchUp(long lastSimulatedMillis, long simulatedTicks) {
+        if (pet != null) {
+            long ticks = PetSimulation.ticksSince(lastSimulatedMillis, System.currentTimeMillis());
+            PetSimulation.catchUp(pet, ticks - simulatedTicks);
+        }
+    }
+
+    /**
+     * Restores a pet's save slot: the save itself, then every action journaled
+     * after it, then the time that passed while the game was closed. The slot's
+     * journal stays open and records the actions that follow.
+     * @param savePath The slot's save file (see {@link SaveCatalog#savePathFor})
+     * @param record The contents of the save
+     */
+    public synchronized void restore(Path savePath, SaveRecord record) {
+        closeJournal();
+        this.savePath = savePath;
+        applySaveRecord(record);
+
+        long replayedTicks = 0;
+        try {
+            journal = ActionJournal.recover(savePath, this, record.getLong(SaveField.JOURNAL_SEQUENCE));
+            replayedTicks = journal.getReplayedTicks();
         } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Failed to load game state from " + fileName);
+            System.err.println("Error recovering journal for " + savePath + ": " + e.getMessage());
+        }
+        catchUp(record.getLong(SaveField.LAST_SIMULATED), replayedTicks);
+    }
+
+    /**
+     * Starts journaling a brand-new game into the given save slot.
+     */
+    public synchronized void startJournal(Path savePath) {
+        closeJournal();
+        this.savePath = savePath;
+        try {
+            journal = ActionJournal.create(savePath);
+        } catch (IOException e) {
+            System.err.println("Error creating journal for " + savePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and closes the current journal, if there is one.
+     */
+    public synchronized void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * The save file of the slot being played, or null if none was started or loaded.
+     */
+    public synchronized Path getSavePath() {
+        return savePath;
+    }
+
+    /**
+     * Saves the game to the slot being played.
+     */
+    public synchronized CompletableFuture<Path> checkpoint() {
+        return checkpoint(savePath);
+    }
+
+    /**
+     * Writes a full save of the game. With a journal, this also compacts it:
+     * everything journaled so far is folded into the save.
+     * @param savePath The save file to write
+     * @return A future that completes with the path once the save is on disk
+     */
+    public synchronized CompletableFuture<Path> checkpoint(Path savePath) {
+        SaveRecord record = toSaveRecord();
+        if (journal != null && journal.getSavePath().equals(savePath)) {
+            return journal.checkpoint(record);
         }
+        return SaveService.getInstance().save(savePath, record);
+    }
+
+    private void record(byte action, int item, int value) {
+        Metrics.recordAction(action);
+        if (batchDepth > 0) {
+            batch.add(new Action(action, item, value));
+            return;
+        }
+        if (journal != null) {
+            journal.append(action, item, value);
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Adds a listener that is called once after every change made by an
+     * action, or once for a whole {@link #apply(List)}. It is called on the
+     * thread that made the change, with the game state locked, so it should
+     * only note that something changed.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private void beginBatch() {
+        // Purchases can run before a pet exists; there's no mood to defer then
+        if (batchDepth++ == 0 && pet != null) {
+            batchPet = pet;
+            batchPet.beginUpdate();
+        }
+    }
+
+    private void endBatch() {
+        if (--batchDepth > 0) {
+            return;
+        }
+        if (batchPet != null) {
+            batchPet.endUpdate();
+            batchPet = null;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (journal != null) {
+            if (batch.size() == 1) {
+                Action action = batch.get(0);
+                journal.append(action.type(), action.item(), action.value());
+            } else {
+                journal.append(batch);
+            }
+        }
+        batch.clear();
+        notifyListeners();
+    }
+
+    /**
+     * Applies a sequence of actions as one unit, e.g. a care routine. The
+     * pet's mood is recomputed once at the end, listeners hear about it once
+     * and the journal gets a single record for all of it. Actions that can't
+     * be done (no food left, not enough dabloons, no pet, a bad item or
+     * count) are skipped, just as they would be one at a time. Purchases are
+     * made at catalog prices.
+     * @return For each action, the dabloons it earned (0 for most), or -1 if it was skipped
+     */
+    public synchronized int[] apply(List<Action> actions) {
+        return apply(actions, false);
+    }
+
+    /**
+     * Replays a journaled batch. Single purchases cost the price they were made at.
+     */
+    synchronized int[] replay(List<Action> actions) {
+        return apply(actions, true);
+    }
+
+    private int[] apply(List<Action> actions, boolean journaled) {
+        int[] results = new int[actions.size()];
+        beginBatch();
+        try {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = run(actions.get(i), journaled);
+            }
+        } finally {
+            endBatch();
+        }
+        return results;
+    }
+
+    private int run(Action action, boolean journaled) {
+        byte type = action.type();
+        int item = action.item();
+        int value = action.value();
+        boolean hasItem = type == ActionJournal.FEED || type == ActionJournal.USE_ITEM
+                || type == ActionJournal.PURCHASE || type == ActionJournal.PURCHASE_MANY;
+        if (hasItem && (item < 0 || item >= ItemCatalog.size())) {
+            return -1;
+        }
+        boolean needsPet = type != ActionJournal.PURCHASE && type != ActionJournal.PURCHASE_MANY;
+        if (needsPet && pet == null) {
+            return -1;
+        }
+        return switch (type) {
+            case ActionJournal.FEED -> feedPet(item) ? 0 : -1;
+            case ActionJournal.PLAY -> playWithPet();
+            case ActionJournal.SLEEP -> sleepPet();
+            case ActionJournal.VET -> visitVet() ? 0 : -1;
+            case ActionJournal.USE_ITEM -> useSpecialItem(item) ? 0 : -1;
+            // Only the journal may say what a purchase cost
+            case ActionJournal.PURCHASE -> (journaled ? purchaseItem(item, value) : purchaseItem(item)) == PurchaseResult.OK ? 0 : -1;
+            case ActionJournal.PURCHASE_MANY -> value > 0 && purchaseItems(item, value) == PurchaseResult.OK ? 0 : -1;
+            case ActionJournal.TICK -> {
+                // Time only runs forwards, or cooldowns could be wound back
+                if (value < 0) {
+                    yield -1;
+                }
+                tick(value);
+                yield 0;
+            }
+            default -> -1;
+        };
     }
 
     // Game statistics methods
-    public long getTotalPlayTime() {
+    public synchronized long getTotalPlayTime() {
         return totalPlayTime;
     }
 
-    public void addPlayTime(long milliseconds) {
+    public synchronized void addPlayTime(long milliseconds) {
         this.totalPlayTime += milliseconds;
     }
 
-    public int getTotalFeedings() {
+    public synchronized int getTotalFeedings() {
         return totalFeedings;
     }
 
-    public void incrementFeedings() {
+    public synchronized void incrementFeedings() {
         this.totalFeedings++;
     }
 
-    public int getTotalPlaySessions() {
+    public synchronized int getTotalPlaySessions() {
         return totalPlaySessions;
     }
 
-    public void incrementPlaySessions() {
+    public synchronized void incrementPlaySessions() {
         this.totalPlaySessions++;
     }
 
-    public int getTotalVetVisits() {
+    public synchronized int getTotalVetVisits() {
         return totalVetVisits;
     }
 
-    public void incrementVetVisits() {
+    public synchronized void incrementVetVisits() {
         this.totalVetVisits++;
     }
 
@@ -373,7 +746,7 @@ public class GameState {
         this.statsVisible = visible;
     }
 
-    public double getAverageHealth() {
+    public synchronized double getAverageHealth() {
         if (healthReadings == 0) return 0;
         return healthSum / healthReadings;
     }
@@ -382,7 +755,7 @@ public class GameState {
         return getAverageHealth();
     }
 
-    public void recordHealth(double health) {
+    public synchronized void recordHealth(double health) {
         this.healthSum += health;
         this.healthReadings++;
     }
@@ -395,21 +768,253 @@ public class GameState {
         this.creationDate = date;
     }
 
-    // Update methods that should track statistics
-    public void feedPet(String foodType) {
-        if (useItem(foodType)) {
-            incrementFeedings();
+    // Actions. Each one changes the pet and the player's progress together,
+    // tracks statistics and is recorded in the journal.
+
+    /**
+     * Runs simulation ticks on the pet.
+     */
+    public synchronized void tick(int ticks) {
+        PetSimulation.tick(pet, ticks);
+        clock += ticks;
+        record(ActionJournal.TICK, -1, ticks);
+    }
+
+    /**
+     * Whether an action (a row of the {@link ActionTable}) can be done right
+     * now: the player can afford it and it isn't cooling down.
+     */
+    public synchronized boolean canPerform(int row) {
+        return currency >= actions.getCost(row) && clock >= readyAt[row];
+    }
+
+    /**
+     * The action engine: applies one row of the action table to the pet and
+     * the player's progress. Callers check {@link #canPerform} first.
+     */
+    private void perform(int row, int reward) {
+        addCurrency(reward - actions.getCost(row));
+        actions.applyStats(row, pet);
+        addScore(actions.getScore(row));
+        readyAt[row] = clock + actions.getCooldown(row);
+
+        byte stat = actions.getStat(row);
+        switch (stat) {
+            case ActionTable.STAT_FEEDINGS -> incrementFeedings();
+            case ActionTable.STAT_PLAY_SESSIONS -> incrementPlaySessions();
+            case ActionTable.STAT_VET_VISITS -> incrementVetVisits();
+            default -> { }
+        }
+        if (stat != ActionTable.STAT_NONE) {
             recordHealth(pet.getHealth());
         }
     }
 
-    public void playWithPet() {
-        incrementPlaySessions();
-        recordHealth(pet.getHealth());
+    /**
+     * Feeds the pet one item of food from the inventory.
+     * @return false if there is none of that food left
+     */
+    public synchronized boolean feedPet(String foodType) {
+        ItemCatalog.Item food = ItemCatalog.byName(foodType);
+        return food != null && feedPet(food.ordinal());
+    }
+
+    /**
+     * Feeds the pet one item of food from the inventory.
+     * @param food The food's item ordinal
+     * @return false if there is none of that food left, it isn't food or it isn't ready
+     */
+    public synchronized boolean feedPet(int food) {
+        int row = ActionTable.itemRow(food);
+        if (ItemCatalog.get(food).category() != ItemCatalog.Category.FOOD || !canPerform(row) || !useItem(food)) {
+            return false;
+        }
+
+        perform(row, 0);
+        record(ActionJournal.FEED, food, 0);
+        return true;
+    }
+
+    /**
+     * Plays with the pet, earning the reward rolled from the action table (5-9 dabloons).
+     * @return The dabloons earned, or -1 if playing isn't possible right now
+     */
+    public synchronized int playWithPet() {
+        if (!canPerform(ActionTable.PLAY)) {
+            return -1;
+        }
+        return playWithPet(actions.rollReward(ActionTable.PLAY, random));
+    }
+
+    /**
+     * Plays with the pet, earning the given reward.
+     * @return The reward, or -1 if playing isn't possible right now
+     */
+    public synchronized int playWithPet(int reward) {
+        if (!canPerform(ActionTable.PLAY)) {
+            return -1;
+        }
+        perform(ActionTable.PLAY, reward);
+        record(ActionJournal.PLAY, -1, reward);
+        return reward;
+    }
+
+    /**
+     * Puts the pet to sleep, earning the reward rolled from the action table (3-5 dabloons).
+     * @return The dabloons earned, or -1 if sleeping isn't possible right now
+     */
+    public synchronized int sleepPet() {
+        if (!canPerform(ActionTable.SLEEP)) {
+            return -1;
+        }
+        return sleepPet(actions.rollReward(ActionTable.SLEEP, random));
+    }
+
+    /**
+     * Puts the pet to sleep, earning the given reward.
+     * @return The reward, or -1 if sleeping isn't possible right now
+     */
+    public synchronized int sleepPet(int reward) {
+        if (!canPerform(ActionTable.SLEEP)) {
+            return -1;
+        }
+        perform(ActionTable.SLEEP, reward);
+        record(ActionJournal.SLEEP, -1, reward);
+        return reward;
+    }
+
+    /**
+     * Takes the pet to the vet, healing it to full health.
+     * @return false if the player can't afford it or it isn't ready
+     */
+    public synchronized boolean visitVet() {
+        if (!canPerform(ActionTable.VET)) {
+            return false;
+        }
+
+        perform(ActionTable.VET, 0);
+        record(ActionJournal.VET, -1, 0);
+        return true;
+    }
+
+    /**
+     * Uses a special (non-food) item from the inventory on the pet.
+     * @return false if there is none of that item left
+     */
+    public synchronized boolean useSpecialItem(String itemName) {
+        ItemCatalog.Item item = ItemCatalog.byName(itemName);
+        return item != null && useSpecialItem(item.ordinal());
+    }
+
+    /**
+     * Uses a special (non-food) item from the inventory on the pet.
+     * @param item The item's ordinal
+     * @return false if there is none of that item left, it is food or it isn't ready
+     */
+    public synchronized boolean useSpecialItem(int item) {
+        int row = ActionTable.itemRow(item);
+        if (ItemCatalog.get(item).category() != ItemCatalog.Category.SPECIAL || !canPerform(row) || !useItem(item)) {
+            return false;
+        }
+
+        perform(row, 0);
+        record(ActionJournal.USE_ITEM, item, 0);
+        return true;
     }
 
-    public void visitVet() {
-        incrementVetVisits();
-        recordHealth(pet.getHealth());
+    /**
+     * Buys one of an item from the shop at its catalog price.
+     */
+    public synchronized PurchaseResult purchaseItem(String itemName) {
+        int item = ItemCatalog.ordinalOf(itemName);
+        if (item < 0) {
+            throw new IllegalArgumentException("No such item: " + itemName);
+        }
+        return purchaseItem(item);
+    }
+
+    /**
+     * Buys one of an item from the shop at its catalog price.
+     * @param item The item's ordinal
+     */
+    public synchronized PurchaseResult purchaseItem(int item) {
+        return purchaseItem(item, ItemCatalog.get(item).price());
+    }
+
+    /**
+     * Buys one of an item at a given price. Only for replaying journaled
+     * purchases, which must cost what they cost when they were made.
+     * @param item The item's ordinal
+     * @param price What it cost, in dabloons
+     */
+    synchronized PurchaseResult purchaseItem(int item, int price) {
+        if (currency < price) {
+            return PurchaseResult.NOT_ENOUGH_CURRENCY;
+        }
+        if (inventory[item] >= ItemCatalog.get(item).stackCap()) {
+            return PurchaseResult.INVENTORY_FULL;
+        }
+
+        addCurrency(-price);
+        addItem(item, 1);
+        record(ActionJournal.PURCHASE, item, price);
+        return PurchaseResult.OK;
+    }
+
+    /**
+     * Buys several of one item from the shop at its catalog price, all or none.
+     * @param item The item's ordinal
+     */
+    public synchronized PurchaseResult purchaseItems(int item, int quantity) {
+        int[] cart = new int[ItemCatalog.size()];
+        cart[item] = quantity;
+        return purchase(cart);
+    }
+
+    /**
+     * Buys everything in a cart at catalog prices as one transaction. The
+     * balance and every stack cap are checked once up front, so either the
+     * whole cart is bought or, if the player can't afford or carry all of
+     * it, nothing is.
+     * @param cart How many of each item to buy, indexed by item ordinal
+     */
+    public synchronized PurchaseResult purchase(int[] cart) {
+        if (cart.length != ItemCatalog.size()) {
+            throw new IllegalArgumentException("Cart has " + cart.length + " items, expected " + ItemCatalog.size());
+        }
+
+        long cost = 0;
+        boolean fits = true;
+        for (int item = 0; item < cart.length; item++) {
+            if (cart[item] < 0) {
+                throw new IllegalArgumentException("Negative quantity of " + ItemCatalog.get(item).name());
+            }
+            cost += (long) cart[item] * ItemCatalog.get(item).price();
+            fits &= cart[item] <= ItemCatalog.get(item).stackCap() - inventory[item];
+        }
+        if (currency < cost) {
+            return PurchaseResult.NOT_ENOUGH_CURRENCY;
+        }
+        if (!fits) {
+            return PurchaseResult.INVENTORY_FULL;
+        }
+
+        // The whole cart is journaled as one batch, so a crash can't leave half
+        // of it bought. Each item is a purchase record with the price paid, so
+        // replay charges the same even if the balance changed since.
+        beginBatch();
+        try {
+            addCurrency((int) -cost);
+            for (int item = 0; item < cart.length; item++) {
+                inventory[item] += cart[item];
+                int price = ItemCatalog.get(item).price();
+                for (int i = 0; i < cart[item]; i++) {
+                    record(ActionJournal.PURCHASE, item, price);
+                }
+            }
+        } finally {
+            endBatch();
+        }
+        return PurchaseResult.OK;
     }
 } 
\ No newline at end of file
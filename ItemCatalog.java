@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every item in the game, in one table: what it is called, what it costs and
+ * how many the player can carry. What an item does to the pet is in the
+ * {@link ActionTable}, under its key.
+ *
+ * <p>Each item has a dense ordinal, its position in the table, and
+ * inventories are plain int arrays indexed by it, so counting, using and
+ * buying items never boxes or hashes. Names are only looked up at the edges
+ * (screens, the HTTP service, old saves).
+ *
+ * <p>Adding an item is a data change only:
+ * <ol>
+ *   <li>add its row at the end of the table below;</li>
+ *   <li>add a save field for its count at the end of {@link SaveField};</li>
+ *   <li>give it effects under {@code item.<key>} in the {@link ActionTable}
+ *       defaults (or a balance file).</li>
+ * </ol>
+ * The shop, saves, loads, the journal and the pet server all work from the
+ * catalog and pick it up from there.
+ *
+ * <p>Ordinals are written to action journals as one byte, so rows must only
+ * ever be added at the end and there can be at most 128 items.
+ */
+public final class ItemCatalog {
+    // Stack cap for items the player can carry any number of
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    public enum Category {
+        FOOD,
+        SPECIAL
+    }
+
+    /**
+     * One row of the catalog.
+     * @param ordinal The item's index in inventory arrays
+     * @param name The name shown to the player, e.g. "Premium Food"
+     * @param category Food is fed to the pet, special items are used on it
+     * @param price What it costs in the shop, in dabloons
+     * @param stackCap The most the player can carry, or {@link #UNLIMITED}
+     * @param startingCount How many a new game starts with
+     * @param blurb What the item is, e.g. "Basic food"
+     * @param saveField Where its count is kept in a save; its key is also the item's key
+     */
+    public record Item(int ordinal, String name, Category category, int price, int stackCap,
+                       int startingCount, String blurb, SaveField saveField) {
+        /**
+         * The item's key in saves and the action table, e.g. "premiumFood".
+         */
+        public String key() {
+            return saveField.key();
+        }
+
+        /**
+         * What the item is and does, e.g. "Basic food (+10 Fullness)".
+         */
+        public String description() {
+            String effects = ActionTable.get().describe(ActionTable.itemRow(ordinal));
+            return effects.isEmpty() ? blurb : blurb + " (" + effects + ")";
+        }
+    }
+
+    private static final Item[] ITEMS = {
+        new Item(0, "Kibble", Category.FOOD, 10, 3, 3, "Basic food", SaveField.KIBBLE),
+        new Item(1, "Treats", Category.FOOD, 20, 3, 3, "Special treats", SaveField.TREATS),
+        new Item(2, "Premium Food", Category.FOOD, 35, 3, 3, "High quality food", SaveField.PREMIUM_FOOD),
+        new Item(3, "Vaccine", Category.SPECIAL, 100, UNLIMITED, 1,
+                "Increases your pet's maximum health permanently", SaveField.VACCINE),
+    };
+
+    private static final Map<String, Item> BY_NAME = new HashMap<>();
+    private static final Item[] BY_SAVE_FIELD = new Item[SaveField.values().length];
+    private static final List<Item> ALL = List.of(ITEMS);
+
+    static {
+        for (int i = 0; i < ITEMS.length; i++) {
+            Item item = ITEMS[i];
+            if (item.ordinal() != i) {
+                throw new IllegalStateException("Item " + item.name() + " has ordinal " + item.ordinal() + ", expected " + i);
+            }
+            BY_NAME.put(item.name(), item);
+            BY_SAVE_FIELD[item.saveField().ordinal()] = item;
+        }
+    }
+
+    private ItemCatalog() {
+    }
+
+    /**
+     * The number of items, i.e. the length of an inventory array.
+     */
+    public static int size() {
+        return ITEMS.length;
+    }
+
+    public static Item get(int ordinal) {
+        return ITEMS[ordinal];
+    }
+
+    /**
+     * Looks an item up by name.
+     * @return The item, or null if there is no item with that name
+     */
+    public static Item byName(String name) {
+        return name != null ? BY_NAME.get(name) : null;
+    }
+
+    /**
+     * Returns an item's ordinal, or -1 if there is no item with that name.
+     */
+    public static int ordinalOf(String name) {
+        Item item = byName(name);
+        return item != null ? item.ordinal() : -1;
+    }
+
+    /**
+     * Returns the item whose count a save field holds, or null if it isn't an inventory field.
+     */
+    public static Item forSaveField(SaveField field) {
+        return BY_SAVE_FIELD[field.ordinal()];
+    }
+
+    /**
+     * Every item, in catalog order.
+     */
+    public static List<Item> all() {
+        return ALL;
+    }
+
+    public static List<Item> inCategory(Category category) {
+        List<Item> items = new ArrayList<>();
+        for (Item item : ITEMS) {
+            if (item.category() == category) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * A new game's inventory.
+     */
+    public static int[] startingInventory() {
+        int[] inventory = new int[ITEMS.length];
+        for (Item item : ITEMS) {
+            inventory[item.ordinal()] = item.startingCount();
+        }
+        return inventory;
+    }
+}
@@ -0,0 +1,188 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+/**
+ * A modal dialog for picking an item from the inventory, e.g. which food to
+ * feed the pet. It is built once and reused: opening it only updates the item
+ * counts and hides the items the player has none of, which keeps it instant
+ * even with the software renderer.
+ */
+public class ItemPickerDialog {
+    // Items are laid out in rows of this many
+    private static final int COLUMNS = 2;
+
+    private static final String BOX_STYLE = "-fx-border-color: #E0E0E0; -fx-border-radius: 5; -fx-background-color: #F8F8F8;";
+    private static final String BOX_HOVER_STYLE = "-fx-border-color: #4CAF50; -fx-border-radius: 5; -fx-background-color: #F8F8F8;";
+
+    private final Stage dialog;
+    private final GridPane itemGrid;
+    private final Text emptyText;
+    private final List<Choice> choices = new ArrayList<>();
+    private final IntUnaryOperator itemCount;
+    private final IntConsumer onPick;
+
+    private record Choice(int item, VBox box, Text countText) {}
+
+    /**
+     * @param owner The window the dialog belongs to
+     * @param title The dialog's window title
+     * @param heading The heading above the items
+     * @param emptyMessage Shown instead of the items when the player has none of them
+     * @param width The dialog's width
+     * @param height The dialog's height
+     * @param itemCount Returns how many of an item (by ordinal) the player has
+     * @param onPick Called with the picked item's ordinal, after the dialog closes
+     */
+    public ItemPickerDialog(Stage owner, String title, String heading, String emptyMessage,
+                            double width, double height, IntUnaryOperator itemCount, IntConsumer onPick) {
+        this.itemCount = itemCount;
+        this.onPick = onPick;
+
+        dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.initOwner(owner);
+        dialog.setTitle(title);
+
+        VBox content = new VBox(15);
+        content.setPadding(new Insets(20));
+        content.setAlignment(Pos.CENTER);
+        content.setStyle("-fx-background-color: #F5F5DC;");
+
+        Text titleText = new Text(heading);
+        titleText.setFont(Font.font("Arial", FontWeight.BOLD, 24));
+
+        itemGrid = new GridPane();
+        itemGrid.setHgap(15);
+        itemGrid.setVgap(15);
+        itemGrid.setAlignment(Pos.CENTER);
+
+        emptyText = new Text(emptyMessage);
+        emptyText.setTextAlignment(TextAlignment.CENTER);
+
+        Button closeButton = createStyledButton("Cancel");
+        closeButton.setOnAction(e -> dialog.close());
+
+        content.getChildren().addAll(titleText, itemGrid, closeButton);
+        dialog.setScene(new Scene(content, width, height));
+    }
+
+    /**
+     * Adds items the player can pick, in display order.
+     * @return This dialog, for chaining
+     */
+    public ItemPickerDialog addItems(List<ItemCatalog.Item> items) {
+        for (ItemCatalog.Item item : items) {
+            addItem(item);
+        }
+        return this;
+    }
+
+    private void addItem(ItemCatalog.Item item) {
+        VBox box = new VBox(10);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(10));
+        box.setMinWidth(150);
+        box.setMinHeight(150);
+        box.setMaxWidth(150);
+        box.setStyle(BOX_STYLE);
+
+        Text nameText = new Text(item.name());
+        nameText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+
+        Text descText = new Text(item.description());
+        descText.setWrappingWidth(130);
+        descText.setTextAlignment(TextAlignment.CENTER);
+
+        Text countText = new Text();
+
+        box.getChildren().addAll(nameText, descText, countText);
+
+        // Hover effect
+        box.setOnMouseEntered(e -> box.setStyle(BOX_HOVER_STYLE));
+        box.setOnMouseExited(e -> box.setStyle(BOX_STYLE));
+
+        // Click effect
+        box.setOnMouseClicked(e -> {
+            dialog.close();
+            onPick.accept(item.ordinal());
+        });
+
+        choices.add(new Choice(item.ordinal(), box, countText));
+    }
+
+    /**
+     * Updates the item counts and shows the dialog, waiting until it is closed.
+     */
+    public void showAndWait() {
+        refresh();
+        dialog.showAndWait();
+    }
+
+    private void refresh() {
+        // Only items in the inventory are offered; the boxes are reused, just re-placed
+        List<Node> shown = new ArrayList<>(choices.size());
+        for (Choice choice : choices) {
+            int count = itemCount.applyAsInt(choice.item());
+            if (count > 0) {
+                choice.countText().setText("Available: " + count);
+                choice.box().setStyle(BOX_STYLE);
+                GridPane.setConstraints(choice.box(), shown.size() % COLUMNS, shown.size() / COLUMNS);
+                shown.add(choice.box());
+            }
+        }
+
+        if (shown.isEmpty()) {
+            GridPane.setConstraints(emptyText, 0, 0);
+            shown.add(emptyText);
+        }
+        itemGrid.getChildren().setAll(shown);
+    }
+
+    private Button createStyledButton(String text) {
+        Button button = new Button(text);
+        button.setStyle(
+            "-fx-background-color: #4CAF50; " +
+            "-fx-text-fill: white; " +
+            "-fx-font-size: 14px; " +
+            "-fx-padding: 8px 16px; " +
+            "-fx-border-radius: 5px; " +
+            "-fx-background-radius: 5px;"
+        );
+
+        // Add hover effect
+        button.setOnMouseEntered(e -> button.setStyle(
+            "-fx-background-color: #45a049; " +
+            "-fx-text-fill: white; " +
+            "-fx-font-size: 14px; " +
+            "-fx-padding: 8px 16px; " +
+            "-fx-border-radius: 5px; " +
+            "-fx-background-radius: 5px;"
+        ));
+
+        button.setOnMouseExited(e -> button.setStyle(
+            "-fx-background-color: #4CAF50; " +
+            "-fx-text-fill: white; " +
+            "-fx-font-size: 14px; " +
+            "-fx-padding: 8px 16px; " +
+            "-fx-border-radius: 5px; " +
+            "-fx-background-radius: 5px;"
+        ));
+
+        return button;
+    }
+}
@@ -1,7 +1,10 @@
+import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Pagination;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -10,109 +13,42 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.geometry.Insets;
-import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javafx.scene.image.ImageView;
-import java.util.Map;
-import java.util.HashMap;
 
-public class LoadGameScreen {
+public class LoadGameScreen implements ScreenNavigator.Screen {
+    // Slots shown per page of the load screen
+    private static final int SLOTS_PER_PAGE = 3;
+
     private final Stage stage;
     private final GameState gameState;
-    private final List<SaveSlot> saveSlots = new ArrayList<>();
+    private final ScreenNavigator navigator;
+    private final SaveCatalog catalog = SaveCatalog.getInstance();
+    // Slots stream in from the catalog's background scan; many arrivals
+    // between two frames are applied by a single update
+    private final AtomicBoolean updateRequested = new AtomicBoolean(false);
+    private final Runnable catalogListener = () -> {
+        if (updateRequested.compareAndSet(false, true)) {
+            Platform.runLater(this::updateSlots);
+        }
+    };
+    private List<SaveCatalog.Summary> saveSlots = List.of();
+    private Pagination pages;
+    private final Scene scene;
 
     public LoadGameScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
-        loadSaveSlots();
-    }
-
-    private void loadSaveSlots() {
-        // Look for save files in the saves directory
-        File savesDir = new File("saves");
-        if (!savesDir.exists()) {
-            savesDir.mkdir();
-        }
-
-        // Check for existing save files - one for each animal type
-        saveSlots.clear();
-        
-        // Look for dog save
-        File dogSave = new File("saves/dog_save.txt");
-        if (dogSave.exists()) {
-            saveSlots.add(new SaveSlot("Dog", "Dog", loadPetStats(dogSave)));
-        } else {
-            saveSlots.add(new SaveSlot("Dog", null, null));
-        }
-        
-        // Look for cat save
-        File catSave = new File("saves/cat_save.txt");
-        if (catSave.exists()) {
-            saveSlots.add(new SaveSlot("Cat", "Cat", loadPetStats(catSave)));
-        } else {
-            saveSlots.add(new SaveSlot("Cat", null, null));
-        }
-        
-        // Look for bunny save
-        File bunnySave = new File("saves/bunny_save.txt");
-        if (bunnySave.exists()) {
-            saveSlots.add(new SaveSlot("Bunny", "Bunny", loadPetStats(bunnySave)));
-        } else {
-            saveSlots.add(new SaveSlot("Bunny", null, null));
-        }
-    }
-
-    private PetStats loadPetStats(File saveFile) {
-        // Load actual stats from file
-        String name = "Pet Name";
-        int health = 80;
-        int maxHealth = 100;
-        int energy = 75;
-        int fullness = 90;
-        int happiness = 85;
-        int currency = 100;
-        int score = 0;
-        Map<String, Integer> inventory = new HashMap<>();
-        
-        // Initialize default inventory
-        inventory.put("Kibble", 0);
-        inventory.put("Treats", 0);
-        inventory.put("Premium Food", 0);
-        inventory.put("Vaccine", 0);
-        
-        try (java.util.Scanner scanner = new java.util.Scanner(saveFile)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] parts = line.split("=");
-                if (parts.length == 2) {
-                    String key = parts[0];
-                    String value = parts[1];
-                    
-                    switch (key) {
-                        case "name" -> name = value;
-                        case "health" -> health = Integer.parseInt(value);
-                        case "maxHealth" -> maxHealth = Integer.parseInt(value);
-                        case "energy" -> energy = Integer.parseInt(value);
-                        case "fullness" -> fullness = Integer.parseInt(value);
-                        case "happiness" -> happiness = Integer.parseInt(value);
-                        case "currency" -> currency = Integer.parseInt(value);
-                        case "score" -> score = Integer.parseInt(value);
-                        case "kibble" -> inventory.put("Kibble", Integer.parseInt(value));
-                        case "treats" -> inventory.put("Treats", Integer.parseInt(value));
-                        case "premiumFood" -> inventory.put("Premium Food", Integer.parseInt(value));
-                        case "vaccine" -> inventory.put("Vaccine", Integer.parseInt(value));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading pet stats: " + e.getMessage());
-        }
-        
-        return new PetStats(name, health, maxHealth, energy, fullness, happiness, currency, score, inventory);
+        this.navigator = ScreenNavigator.forStage(stage);
+        // Slot summaries come from the catalog's index; no save file is opened here
+        saveSlots = catalog.getSlots();
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("LoadGame");
+        scene = createScene();
+        event.commit();
     }
 
-    public void show() {
+    private Scene createScene() {
         VBox root = new VBox(20);
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(20));
@@ -128,35 +64,88 @@ public class LoadGameScreen {
         saveContainer.setStyle("-fx-background-color: #FFFFFF; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 10; -fx-background-radius: 10;");
         saveContainer.setMaxWidth(700);
 
+        // Only the page being looked at is built, however many saves there are
+        pages = new Pagination(pageCount(), 0);
+        pages.setPageFactory(this::createPage);
+        saveContainer.getChildren().add(pages);
+
+        Button backButton = createStyledButton("Back to Main Menu");
+        backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#8B4513")); // Brown for back button
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
+
+        root.getChildren().addAll(title, saveContainer, backButton);
+
+        return new Scene(root, 800, 600);
+    }
+
+    public void show() {
+        navigator.show(LoadGameScreen.class, () -> this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Tamagotchi Game - Load Game";
+    }
+
+    @Override
+    public void onShow() {
+        // Keep the slots current while the screen is open, starting with
+        // whatever changed while it was hidden
+        catalog.addListener(catalogListener);
+        updateSlots();
+    }
+
+    @Override
+    public void onHide() {
+        catalog.removeListener(catalogListener);
+    }
+
+    private int pageCount() {
+        return Math.max(1, (saveSlots.size() + SLOTS_PER_PAGE - 1) / SLOTS_PER_PAGE);
+    }
+
+    private Node createPage(int page) {
         // Create grid layout for save slots
         GridPane saveGrid = new GridPane();
         saveGrid.setHgap(20);
         saveGrid.setVgap(20);
         saveGrid.setAlignment(Pos.CENTER);
 
-        for (int i = 0; i < saveSlots.size(); i++) {
-            SaveSlot slot = saveSlots.get(i);
-            VBox slotBox = createSaveSlotBox(slot);
-            saveGrid.add(slotBox, i, 0);
+        if (saveSlots.isEmpty()) {
+            Text empty = new Text("No saved games yet");
+            empty.setStyle("-fx-font-size: 18px; -fx-fill: #8B4513;");
+            saveGrid.add(empty, 0, 0);
+            return saveGrid;
         }
 
-        saveContainer.getChildren().add(saveGrid);
-
-        Button backButton = createStyledButton("Back to Main Menu");
-        backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#8B4513")); // Brown for back button
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
-
-        root.getChildren().addAll(title, saveContainer, backButton);
+        int from = page * SLOTS_PER_PAGE;
+        int to = Math.min(from + SLOTS_PER_PAGE, saveSlots.size());
+        for (int i = from; i < to; i++) {
+            saveGrid.add(createSaveSlotBox(saveSlots.get(i)), i - from, 0);
+        }
+        return saveGrid;
+    }
 
-        Scene scene = new Scene(root, 800, 600);
-        stage.setScene(scene);
-        stage.setTitle("Tamagotchi Game - Load Game");
+    /**
+     * Picks up slots that were added, changed or removed since the screen was built.
+     */
+    private void updateSlots() {
+        updateRequested.set(false);
+        saveSlots = catalog.getSlots();
+        int page = Math.min(pages.getCurrentPageIndex(), pageCount() - 1);
+        pages.setPageCount(pageCount());
+        // Setting a new factory rebuilds the current page
+        pages.setPageFactory(this::createPage);
+        pages.setCurrentPageIndex(page);
     }
 
-    private VBox createSaveSlotBox(SaveSlot slot) {
+    private VBox createSaveSlotBox(SaveCatalog.Summary slot) {
         VBox box = new VBox(15);
         box.setAlignment(Pos.CENTER);
         box.setPadding(new Insets(15));
@@ -165,26 +154,16 @@ public class LoadGameScreen {
         box.setStyle("-fx-background-color: #FFFFFF; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 10; -fx-background-radius: 10;");
 
         // Animal type label
-        Text animalType = new Text(slot.animalType());
+        Text animalType = new Text(slot.species());
         animalType.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-fill: #8B4513;");
 
         // Create pet sprite image
         ImageView portrait = null;
-        String prefix = slot.animalType().equalsIgnoreCase("Cat") ? "KITTY" : slot.animalType().toUpperCase();
-        String spritePath = "images/" + prefix + "_NORMAL.png";
         
         try {
-            File imageFile = new File(spritePath);
-            System.out.println("Load screen - attempting to load sprite: " + spritePath);
-            System.out.println("Animal type: " + slot.animalType());
-            System.out.println("File exists: " + imageFile.exists());
-            System.out.println("File absolute path: " + imageFile.getAbsolutePath());
-            String imageURI = imageFile.toURI().toString();
-            System.out.println("Image URI: " + imageURI);
-            portrait = new ImageView(new javafx.scene.image.Image(imageURI));
-            System.out.println("Sprite loaded successfully");
+            portrait = new ImageView(SpriteCache.get(slot.species(), Pet.Mood.NORMAL));
         } catch (Exception e) {
-            System.err.println("Error loading sprite in load screen: " + spritePath);
+            System.err.println("Error loading sprite in load screen: " + slot.species());
             System.err.println("Error details: " + e.getMessage());
             e.printStackTrace();
             // Create a colored rectangle as fallback
@@ -232,46 +211,35 @@ public class LoadGameScreen {
         return box;
     }
 
-    private void loadGame(SaveSlot slot) {
-        // Get pet type and stats
-        String petType = slot.animalType();
-        PetStats stats = slot.stats();
-        
-        // Create a new pet with the correct name and type
-        Pet pet = new Pet(stats.name(), petType);
-        
-        // Set pet stats
-        pet.setHealth(stats.health());
-        
-        // Set max health if it's different from default
-        if (stats.maxHealth() > 100) {
-            pet.increaseMaxHealth(stats.maxHealth() - 100);
+    private void loadGame(SaveCatalog.Summary slot) {
+        // Only the chosen save is read in full
+        long start = System.nanoTime();
+        GameEvents.Load event = new GameEvents.Load(slot.path().toString());
+        SaveRecord save;
+        try {
+            save = SaveCodec.read(slot.path());
+        } catch (Exception e) {
+            event.end(false);
+            System.err.println("Error loading save " + slot.path() + ": " + e.getMessage());
+            return;
         }
         
-        pet.setHappiness(stats.happiness());
-        pet.setFullness(stats.fullness());
-        pet.setEnergy(stats.energy());
-        
-        // Start the game with the loaded pet
-        gameState.startNewGame(stats.name(), pet);
-        
-        // Set currency and score from save
-        gameState.addCurrency(stats.currency() - gameState.getCurrency());
-        gameState.addScore(stats.score() - gameState.getScore());
-        
-        // Load inventory
-        for (Map.Entry<String, Integer> entry : stats.inventory().entrySet()) {
-            String itemName = entry.getKey();
-            int count = entry.getValue();
-            // Clear existing inventory first
-            while (gameState.getItemCount(itemName) > 0) {
-                gameState.useItem(itemName);
-            }
-            // Add saved items
-            gameState.addItem(itemName, count);
+        // Older saves may be missing the pet's name or type
+        if (!save.has(SaveField.NAME)) {
+            save.setString(SaveField.NAME, slot.name());
+        }
+        if (!save.has(SaveField.TYPE)) {
+            save.setString(SaveField.TYPE, slot.species());
         }
         
-        // Show the game screen
+        // Start the game and restore the pet, progress and inventory from the
+        // save, plus anything journaled after it
+        gameState.startNewGame(save.getString(SaveField.NAME), null);
+        gameState.restore(SaveCatalog.savePathFor(slot), save);
+        Metrics.LOAD_TIME.record(System.nanoTime() - start);
+        event.end(true);
+        
+        // Show the game screen for the loaded pet, replacing the previous game's
         GameScreen gameScreen = new GameScreen(stage, gameState);
         gameScreen.show();
     }
@@ -311,35 +279,4 @@ public class LoadGameScreen {
         
         return button;
     }
-    
-    // Record classes for save slot data
-    private record SaveSlot(String animalType, String petType, PetStats stats) {
-        public String name() {
-            return stats.name();
-        }
-        public int health() {
-            return stats.health();
-        }
-        public int maxHealth() {
-            return stats.maxHealth();
-        }
-        public int energy() {
-            return stats.energy();
-        }
-        public int fullness() {
-            return stats.fullness();
-        }
-        public int happiness() {
-            return stats.happiness();
-        }
-        public int currency() {
-            return stats.currency();
-        }
-        public int score() {
-            return stats.score();
-        }
-    }
-    
-    private record PetStats(String name, int health, int maxHealth, int energy, int fullness, int happiness, int currency, int score,
-                          Map<String, Integer> inventory) {}
-} 
\ No newline at end of file
+}
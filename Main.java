@@ -6,6 +6,7 @@ import java.io.File;
  * Main class to launch the Tamagotchi virtual pet application.
  */
 public class Main extends Application {
+    private GameState gameState;
     
     @Override
     public void start(Stage primaryStage) {
@@ -15,8 +16,15 @@ public class Main extends Application {
             savesDir.mkdir();
         }
         
+        // Index the save slots and keep watching them for changes
+        SaveCatalog.getInstance();
+        
         // Initialize game state
-        GameState gameState = new GameState();
+        gameState = new GameState();
+        
+        // Publish live metrics for jconsole and friends
+        Metrics.register();
+        Metrics.watch(gameState);
         
         // Set up stage properties
         primaryStage.setTitle("Tamagotchi Game");
@@ -28,6 +36,13 @@ public class Main extends Application {
         primaryStage.setFullScreen(false);
         gameState.setFullscreen(false);
         
+        // Save the current pet when the window is closed
+        primaryStage.setOnCloseRequest(e -> {
+            if (gameState.getPet() != null && gameState.getSavePath() != null) {
+                gameState.checkpoint();
+            }
+        });
+        
         // Show main menu
         MainMenuScreen mainMenu = new MainMenuScreen(primaryStage, gameState);
         mainMenu.show();
@@ -35,6 +50,16 @@ public class Main extends Application {
         primaryStage.show();
     }
     
+    @Override
+    public void stop() {
+        // Make sure journaled actions and queued saves reach the disk before the JVM exits
+        if (gameState != null) {
+            gameState.closeJournal();
+        }
+        SaveCatalog.getInstance().close();
+        SaveService.getInstance().shutdown();
+    }
+    
     /**
      * Main method to launch the application.
      */
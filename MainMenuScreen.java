@@ -12,20 +12,22 @@ import javafx.scene.paint.Color;
 /**
  * The main menu screen of the game.
  */
-public class MainMenuScreen {
+public class MainMenuScreen implements ScreenNavigator.Screen {
     private final Stage stage;
     private final GameState gameState;
+    private final ScreenNavigator navigator;
+    private final Scene scene;
 
     public MainMenuScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
-        
-        // Ensure game starts in windowed mode
-        stage.setFullScreen(false);
-        gameState.setFullscreen(false);
+        this.navigator = ScreenNavigator.forStage(stage);
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("MainMenu");
+        this.scene = createScene();
+        event.commit();
     }
 
-    public void show() {
+    private Scene createScene() {
         VBox root = new VBox(20);
         root.setAlignment(Pos.CENTER);
         root.setPadding(new Insets(20));
@@ -42,28 +44,20 @@ public class MainMenuScreen {
         buttonContainer.setMaxWidth(400);
 
         Button newGameButton = createStyledButton("New Game");
-        newGameButton.setOnAction(e -> {
-            NewGameScreen newGameScreen = new NewGameScreen(stage, gameState);
-            newGameScreen.show();
-        });
+        // The new game form starts empty every time, so it isn't cached
+        newGameButton.setOnAction(e -> navigator.show(new NewGameScreen(stage, gameState)));
 
         Button loadGameButton = createStyledButton("Load Game");
-        loadGameButton.setOnAction(e -> {
-            LoadGameScreen loadGameScreen = new LoadGameScreen(stage, gameState);
-            loadGameScreen.show();
-        });
+        loadGameButton.setOnAction(e ->
+            navigator.show(LoadGameScreen.class, () -> new LoadGameScreen(stage, gameState)));
         
         Button settingsButton = createStyledButton("Settings");
-        settingsButton.setOnAction(e -> {
-            SettingsScreen settingsScreen = new SettingsScreen(stage, gameState);
-            settingsScreen.show();
-        });
+        settingsButton.setOnAction(e ->
+            navigator.show(SettingsScreen.class, () -> new SettingsScreen(stage, gameState)));
 
+        // Parental controls show the playtime and settings as of when they are opened
         Button parentalControlsButton = createStyledButton("Parental Controls");
-        parentalControlsButton.setOnAction(e -> {
-            ParentalControlsScreen controlsScreen = new ParentalControlsScreen(stage, gameState);
-            controlsScreen.show();
-        });
+        parentalControlsButton.setOnAction(e -> navigator.show(new ParentalControlsScreen(stage, gameState)));
 
         Button exitButton = createStyledButton("Exit");
         exitButton.setOnAction(e -> stage.close());
@@ -108,9 +102,28 @@ public class MainMenuScreen {
 
         root.getChildren().addAll(title, buttonContainer);
 
-        Scene scene = new Scene(root, 800, 600);
-        stage.setScene(scene);
-        stage.setTitle("Tamagotchi Game - Main Menu");
+        return new Scene(root, 800, 600);
+    }
+
+    public void show() {
+        navigator.show(MainMenuScreen.class, () -> this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Tamagotchi Game - Main Menu";
+    }
+
+    @Override
+    public void onShow() {
+        // Ensure the game is in windowed mode whenever the menu is shown
+        stage.setFullScreen(false);
+        gameState.setFullscreen(false);
     }
 
     private Button createStyledButton(String text) {
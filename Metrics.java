@@ -0,0 +1,306 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Live numbers about the running game, published as JMX MBeans so jconsole,
+ * VisualVM or {@code jcmd} can show where time goes without a profiler.
+ * Everything is recorded with atomics and adders, never locks, so the game
+ * loop pays a few nanoseconds per measurement.
+ *
+ * <pre>
+ *  tamagotchi:type=Simulation                tick count and rate
+ *  tamagotchi:type=Histogram,name=tick       game loop tick duration
+ *  tamagotchi:type=Histogram,name=save       writing a save file
+ *  tamagotchi:type=Histogram,name=load       loading a game from a save
+ *  tamagotchi:type=Histogram,name=slotRead   reading a slot's pet stats for the load screen
+ *  tamagotchi:type=Histogram,name=spriteDecode
+ *  tamagotchi:type=Sprites                   sprite cache hits, misses and decodes
+ *  tamagotchi:type=Actions                   actions done, by type
+ *  tamagotchi:type=Pet                       the current pet's stats
+ * </pre>
+ */
+public final class Metrics {
+    public static final LatencyHistogram TICK_TIME = new LatencyHistogram();
+    public static final LatencyHistogram SAVE_TIME = new LatencyHistogram();
+    public static final LatencyHistogram LOAD_TIME = new LatencyHistogram();
+    public static final LatencyHistogram SLOT_READ_TIME = new LatencyHistogram();
+    public static final LatencyHistogram SPRITE_DECODE_TIME = new LatencyHistogram();
+
+    // Ticks per second is worked out over windows of this length
+    private static final long RATE_WINDOW_NANOS = 10_000_000_000L;
+
+    private static final LongAdder ticks = new LongAdder();
+    private static final LongAdder windowTicks = new LongAdder();
+    private static final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private static volatile double tickRate = 0;
+
+    // Indexed by ActionJournal action code
+    private static final String[] ACTION_NAMES = {
+        "unknown", "feed", "play", "sleep", "vet", "useItem", "purchase", "tick", "purchaseMany"
+    };
+    private static final LongAdder[] actions = new LongAdder[ACTION_NAMES.length];
+
+    private static volatile GameState watched;
+    private static boolean registered = false;
+
+    static {
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = new LongAdder();
+        }
+    }
+
+    public interface HistogramMXBean {
+        long getCount();
+
+        double getMeanMillis();
+
+        double getP50Millis();
+
+        double getP90Millis();
+
+        double getP99Millis();
+
+        double getMaxMillis();
+    }
+
+    public interface SimulationMXBean {
+        long getTickCount();
+
+        double getTicksPerSecond();
+    }
+
+    public interface SpritesMXBean {
+        long getHitCount();
+
+        long getMissCount();
+
+        long getEvictionCount();
+
+        long getDecodeCount();
+
+        double getMeanDecodeMillis();
+    }
+
+    public interface ActionsMXBean {
+        Map<String, Long> getCounts();
+
+        long getTotal();
+    }
+
+    public interface PetMXBean {
+        String getName();
+
+        String getState();
+
+        int getHealth();
+
+        int getMaxHealth();
+
+        int getHappiness();
+
+        int getFullness();
+
+        int getEnergy();
+
+        int getCurrency();
+
+        int getScore();
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Publishes the MBeans on the platform MBean server. Safe to call more than once.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            registerHistogram(server, "tick", TICK_TIME);
+            registerHistogram(server, "save", SAVE_TIME);
+            registerHistogram(server, "load", LOAD_TIME);
+            registerHistogram(server, "slotRead", SLOT_READ_TIME);
+            registerHistogram(server, "spriteDecode", SPRITE_DECODE_TIME);
+            server.registerMBean(new StandardMBean(new Simulation(), SimulationMXBean.class, true),
+                    new ObjectName("tamagotchi:type=Simulation"));
+            server.registerMBean(new StandardMBean(new Sprites(), SpritesMXBean.class, true),
+                    new ObjectName("tamagotchi:type=Sprites"));
+            server.registerMBean(new StandardMBean(new Actions(), ActionsMXBean.class, true),
+                    new ObjectName("tamagotchi:type=Actions"));
+            server.registerMBean(new StandardMBean(new PetStats(), PetMXBean.class, true),
+                    new ObjectName("tamagotchi:type=Pet"));
+        } catch (JMException e) {
+            System.err.println("Error registering metrics: " + e.getMessage());
+        }
+    }
+
+    private static void registerHistogram(MBeanServer server, String name, LatencyHistogram histogram) throws JMException {
+        server.registerMBean(new StandardMBean(histogram, HistogramMXBean.class, true),
+                new ObjectName("tamagotchi:type=Histogram,name=" + name));
+    }
+
+    /**
+     * Shows this game's pet in the Pet MBean.
+     */
+    public static void watch(GameState gameState) {
+        watched = gameState;
+    }
+
+    /**
+     * Records a run of the game loop that ran simulation ticks.
+     * @param count The number of ticks it ran
+     * @param nanos How long it took
+     */
+    public static void recordTicks(int count, long nanos) {
+        TICK_TIME.record(nanos);
+        ticks.add(count);
+        windowTicks.add(count);
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        // Whoever closes the window works out the rate; everyone else moves on
+        if (now - start >= RATE_WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            tickRate = windowTicks.sumThenReset() * 1_000_000_000.0 / (now - start);
+        }
+    }
+
+    /**
+     * Counts one action.
+     * @param action Its {@link ActionJournal} code
+     */
+    public static void recordAction(byte action) {
+        actions[action > 0 && action < actions.length ? action : 0].increment();
+    }
+
+    private static final class Simulation implements SimulationMXBean {
+        @Override
+        public long getTickCount() {
+            return ticks.sum();
+        }
+
+        @Override
+        public double getTicksPerSecond() {
+            return tickRate;
+        }
+    }
+
+    private static final class Sprites implements SpritesMXBean {
+        @Override
+        public long getHitCount() {
+            return SpriteCache.getHitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return SpriteCache.getMissCount();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return SpriteCache.getEvictionCount();
+        }
+
+        @Override
+        public long getDecodeCount() {
+            return SPRITE_DECODE_TIME.getCount();
+        }
+
+        @Override
+        public double getMeanDecodeMillis() {
+            return SPRITE_DECODE_TIME.getMeanMillis();
+        }
+    }
+
+    private static final class Actions implements ActionsMXBean {
+        @Override
+        public Map<String, Long> getCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 1; i < actions.length; i++) {
+                counts.put(ACTION_NAMES[i], actions[i].sum());
+            }
+            return counts;
+        }
+
+        @Override
+        public long getTotal() {
+            long total = 0;
+            for (LongAdder count : actions) {
+                total += count.sum();
+            }
+            return total;
+        }
+    }
+
+    // Reads the watched game's pet; -1 and empty names when there is none
+    private static final class PetStats implements PetMXBean {
+        private static Pet pet() {
+            GameState gameState = watched;
+            return gameState != null ? gameState.getPet() : null;
+        }
+
+        @Override
+        public String getName() {
+            Pet pet = pet();
+            return pet != null ? pet.getName() : "";
+        }
+
+        @Override
+        public String getState() {
+            Pet pet = pet();
+            return pet != null ? pet.getState().name() : "";
+        }
+
+        @Override
+        public int getHealth() {
+            Pet pet = pet();
+            return pet != null ? pet.getHealth() : -1;
+        }
+
+        @Override
+        public int getMaxHealth() {
+            Pet pet = pet();
+            return pet != null ? pet.getMaxHealth() : -1;
+        }
+
+        @Override
+        public int getHappiness() {
+            Pet pet = pet();
+            return pet != null ? pet.getHappiness() : -1;
+        }
+
+        @Override
+        public int getFullness() {
+            Pet pet = pet();
+            return pet != null ? pet.getFullness() : -1;
+        }
+
+        @Override
+        public int getEnergy() {
+            Pet pet = pet();
+            return pet != null ? pet.getEnergy() : -1;
+        }
+
+        @Override
+        public int getCurrency() {
+            GameState gameState = watched;
+            return gameState != null ? gameState.getCurrency() : -1;
+        }
+
+        @Override
+        public int getScore() {
+            GameState gameState = watched;
+            return gameState != null ? gameState.getScore() : -1;
+        }
+    }
+}
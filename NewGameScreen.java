@@ -7,17 +7,15 @@ import javafx.stage.Stage;
 import javafx.geometry.Insets;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.paint.Color;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import javafx.scene.image.ImageView;
 
 /**
  * Screen for creating a new game, allowing the player to select and name their pet.
  */
-public class NewGameScreen {
+public class NewGameScreen implements ScreenNavigator.Screen {
     private final Stage stage;
     private final GameState gameState;
+    private final ScreenNavigator navigator;
     private Scene scene;
     private ToggleButton dogButton;
     private ToggleButton catButton;
@@ -29,14 +27,20 @@ public class NewGameScreen {
     public NewGameScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("NewGame");
         createScene();
+        event.commit();
     }
 
     public NewGameScreen(Stage stage, GameState gameState, String preselectedAnimal) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
         this.selectedPetType = preselectedAnimal;
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("NewGame");
         createScene();
+        event.commit();
     }
 
     private void createScene() {
@@ -103,10 +107,8 @@ public class NewGameScreen {
         // Back button
         Button backButton = createStyledButton("Back to Main Menu");
         backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#9E9E9E"));
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
 
         buttonBox.getChildren().addAll(startButton, backButton);
 
@@ -134,8 +136,7 @@ public class NewGameScreen {
         buttonContent.setAlignment(Pos.CENTER);
         
         // Create ImageView for the pet sprite
-        String spritePath = "images/" + (petType.equals("Cat") ? "KITTY" : petType.toUpperCase()) + "_NORMAL.png";
-        ImageView petImage = new ImageView(new File(spritePath).toURI().toString());
+        ImageView petImage = new ImageView(SpriteCache.get(petType, Pet.Mood.NORMAL));
         petImage.setFitWidth(100);
         petImage.setFitHeight(100);
         petImage.setPreserveRatio(true);
@@ -206,36 +207,27 @@ public class NewGameScreen {
         
         // Start the game in GameState with the player's name (using pet name for now)
         gameState.startNewGame(petName, pet);
+        // Every new pet gets its own save slot
+        gameState.startJournal(SaveCatalog.newSlotPath(pet.getType()));
         
         // Save the game to a file
-        saveGame(pet);
+        saveGame();
         
-        // Show the game screen
+        // Show the game screen for the new pet, replacing the previous game's
         GameScreen gameScreen = new GameScreen(stage, gameState);
         gameScreen.show();
     }
     
-    private void saveGame(Pet pet) {
-        // Create saves directory if it doesn't exist
-        File savesDir = new File("saves");
-        if (!savesDir.exists()) {
-            savesDir.mkdir();
-        }
-        
-        // Create a save file based on pet type
-        String filename = "saves/" + pet.getType().toLowerCase() + "_save.txt";
-        try (FileWriter writer = new FileWriter(filename)) {
-            // Write pet information
-            writer.write("name=" + pet.getName() + "\n");
-            writer.write("type=" + pet.getType() + "\n");
-            writer.write("health=" + pet.getHealth() + "\n");
-            writer.write("happiness=" + pet.getHappiness() + "\n");
-            writer.write("fullness=" + pet.getFullness() + "\n");
-            writer.write("energy=" + pet.getEnergy() + "\n");
-            System.out.println("Game saved to " + filename);
-        } catch (IOException e) {
-            System.err.println("Error saving game: " + e.getMessage());
-        }
+    private void saveGame() {
+        // Write the new pet in the background through the save service
+        gameState.checkpoint()
+            .whenComplete((path, error) -> {
+                if (error == null) {
+                    System.out.println("Game saved to " + path);
+                } else {
+                    System.err.println("Error saving game: " + error.getMessage());
+                }
+            });
     }
 
     private void showError(String message) {
@@ -261,6 +253,16 @@ public class NewGameScreen {
     }
 
     public void show() {
-        stage.setScene(scene);
+        navigator.show(this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return stage.getTitle();
     }
 } 
\ No newline at end of file
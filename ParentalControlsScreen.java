@@ -6,17 +6,21 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.geometry.Insets;
 
-public class ParentalControlsScreen {
+public class ParentalControlsScreen implements ScreenNavigator.Screen {
     private final Stage stage;
     private final GameState gameState;
+    private final ScreenNavigator navigator;
     private Scene scene;
     private boolean isPasswordSet;
 
     public ParentalControlsScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
         this.isPasswordSet = gameState.hasParentalPassword();
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("ParentalControls");
         createScene();
+        event.commit();
     }
 
     private void createScene() {
@@ -71,8 +75,7 @@ public class ParentalControlsScreen {
                 errorLabel.setText("Password must be at least 6 characters");
             } else {
                 gameState.setParentalPassword(password);
-                ParentalSettingsScreen settingsScreen = new ParentalSettingsScreen(stage, gameState);
-                settingsScreen.show();
+                navigator.show(new ParentalSettingsScreen(stage, gameState));
             }
         });
 
@@ -83,10 +86,8 @@ public class ParentalControlsScreen {
 
         Button backButton = createStyledButton("Back to Main Menu");
         backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#9E9E9E"));
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
 
         root.getChildren().addAll(
             title,
@@ -118,8 +119,7 @@ public class ParentalControlsScreen {
         loginButton.setOnAction(e -> {
             String password = passwordField.getText();
             if (gameState.checkParentalPassword(password)) {
-                ParentalSettingsScreen settingsScreen = new ParentalSettingsScreen(stage, gameState);
-                settingsScreen.show();
+                navigator.show(new ParentalSettingsScreen(stage, gameState));
             } else {
                 errorLabel.setText("Incorrect password");
             }
@@ -132,10 +132,8 @@ public class ParentalControlsScreen {
 
         Button backButton = createStyledButton("Back to Main Menu");
         backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#9E9E9E"));
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
 
         root.getChildren().addAll(
             title,
@@ -159,7 +157,16 @@ public class ParentalControlsScreen {
     }
 
     public void show() {
-        stage.setScene(scene);
-        stage.setTitle("Parental Controls");
+        navigator.show(this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Parental Controls";
     }
 } 
\ No newline at end of file
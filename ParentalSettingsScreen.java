@@ -10,15 +10,19 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Screen;
 
-public class ParentalSettingsScreen {
+public class ParentalSettingsScreen implements ScreenNavigator.Screen {
     private final Stage stage;
     private final GameState gameState;
+    private final ScreenNavigator navigator;
     private Scene scene;
 
     public ParentalSettingsScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("ParentalSettings");
         createScene();
+        event.commit();
     }
 
     private void createScene() {
@@ -55,10 +59,8 @@ public class ParentalSettingsScreen {
 
         Button backButton = createStyledButton("Back to Main Menu");
         backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#8B4513")); // Brown for back button
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
 
         buttonBox.getChildren().addAll(saveButton, backButton);
 
@@ -238,14 +240,26 @@ public class ParentalSettingsScreen {
 
     private void saveSettings() {
         // Save all settings to file
-        gameState.saveToFile("game_state.txt");
+        gameState.saveToFile("game_state.dat");
         showSuccessDialog();
     }
 
     public void show() {
-        stage.setScene(scene);
-        stage.setTitle("Parental Controls");
-        
+        navigator.show(this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Parental Controls";
+    }
+
+    @Override
+    public void onShow() {
         // Set minimum dimensions for the window
         stage.setMinWidth(600);
         stage.setMinHeight(400);
@@ -1,6 +1,5 @@
-import java.io.File;
-import java.util.Map;
-import java.util.HashMap;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.scene.image.Image;
 
 /**
@@ -15,36 +14,19 @@ public class Pet {
     private int fullness;
     private int energy;
     private State state;
-    private javafx.scene.image.Image currentSprite;
-    private static final Map<String, Map<String, Image>> sprites = new HashMap<>();
+    private final ReadOnlyObjectWrapper<Mood> mood = new ReadOnlyObjectWrapper<>(Mood.NORMAL);
+    // While above 0, stat changes don't recompute the mood; endUpdate() does it once
+    private int updateDepth = 0;
 
     public enum State {
         IDLE, EATING, PLAYING, SLEEPING, SICK
     }
 
-    static {
-        // Load all sprites for each pet type
-        loadSpritesForType("DOG");
-        loadSpritesForType("BUNNY");
-        loadSpritesForType("KITTY");
-    }
-
-    private static void loadSpritesForType(String petType) {
-        Map<String, Image> stateSprites = new HashMap<>();
-        String[] states = {"NORMAL", "ANGRY", "SLEEP", "HUNGRY", "DEAD"};
-        
-        for (String state : states) {
-            try {
-                String path = "images/" + petType + "_" + state + ".png";
-                Image sprite = new Image(new File(path).toURI().toString());
-                stateSprites.put(state, sprite);
-            } catch (Exception e) {
-                System.err.println("Failed to load sprite: " + petType + "_" + state);
-                e.printStackTrace();
-            }
-        }
-        
-        sprites.put(petType, stateSprites);
+    /**
+     * How the pet looks, derived from its state and stats. Each mood has its own sprite.
+     */
+    public enum Mood {
+        NORMAL, ANGRY, SLEEP, HUNGRY, DEAD
     }
 
     public Pet(String name, String type) {
@@ -187,64 +169,34 @@ public class Pet {
     /**
      * Updates the pet's state based on its current attributes.
      * This method should be called periodically to simulate the passage of time.
+     * The rules themselves live in {@link PetSimulation#tick(Pet)}.
      */
     public void update() {
-        // Decrease attributes over time to simulate needs
-        decreaseFullness(1);
-        decreaseHappiness(1);
-        decreaseEnergy(1);
-
-        // If energy is low, health decreases
-        if (energy < 20) {
-            decreaseHealth(1);
-        }
-
-        // If fullness is low, health decreases
-        if (fullness < 20) {
-            decreaseHealth(1);
-        }
-
-        // If happiness is low, health decreases
-        if (happiness < 20) {
-            decreaseHealth(1);
-        }
-
-        // Update pet state based on conditions
-        if (health < 30) {
-            state = State.SICK;
-        } else if (energy < 30) {
-            state = State.SLEEPING;
-        } else {
-            state = State.IDLE;
-        }
-
-        // Update sprite after all changes
-        updateSprite();
+        PetSimulation.tick(this);
     }
 
     /**
-     * Feeds the pet to increase fullness.
+     * Feeds the pet a kibble, as in the {@link ActionTable}.
      */
     public void feed() {
-        increaseFullness(20);
-        state = State.EATING;
+        ActionTable.get().applyStats(ActionTable.itemRow(ItemCatalog.ordinalOf("Kibble")), this);
+        setState(State.EATING);
     }
 
     /**
-     * Plays with the pet to increase happiness.
+     * Plays with the pet, as in the {@link ActionTable}.
      */
     public void play() {
-        increaseHappiness(20);
-        decreaseEnergy(10);
-        state = State.PLAYING;
+        ActionTable.get().applyStats(ActionTable.PLAY, this);
+        setState(State.PLAYING);
     }
 
     /**
-     * Lets the pet sleep to recover energy.
+     * Lets the pet sleep to recover energy, as in the {@link ActionTable}.
      */
     public void sleep() {
-        increaseEnergy(30);
-        state = State.SLEEPING;
+        ActionTable.get().applyStats(ActionTable.SLEEP, this);
+        setState(State.SLEEPING);
     }
 
     /**
@@ -255,25 +207,61 @@ public class Pet {
         return health > 0;
     }
 
+    public Mood getMood() {
+        return mood.get();
+    }
+
+    /**
+     * Observable mood, for views that show the pet's sprite.
+     * It only fires when the mood actually changes, not on every stat update.
+     */
+    public ReadOnlyObjectProperty<Mood> moodProperty() {
+        return mood.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns the sprite for the pet's current mood from the shared sprite cache.
+     */
     public Image getCurrentSprite() {
-        return currentSprite;
+        return SpriteCache.get(type, mood.get());
     }
 
-    private void updateSprite() {
-        Map<String, Image> typeSprites = sprites.get(type);
-        if (typeSprites == null) return;
+    /**
+     * Starts a group of changes: the mood is recomputed once, by the matching
+     * {@link #endUpdate()}, instead of after every stat change. Groups nest.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a group of changes started by {@link #beginUpdate()}.
+     */
+    public void endUpdate() {
+        if (updateDepth > 0 && --updateDepth == 0) {
+            updateSprite();
+        }
+    }
 
-        // Choose the appropriate sprite based on pet's state and stats
+    private void updateSprite() {
+        if (updateDepth > 0) {
+            return;
+        }
+        // Choose the appropriate mood based on pet's state and stats
         if (!isAlive()) {
-            currentSprite = typeSprites.get("DEAD");
+            mood.set(Mood.DEAD);
         } else if (state == State.SLEEPING) {
-            currentSprite = typeSprites.get("SLEEP");
+            mood.set(Mood.SLEEP);
+        } else if (state == State.EATING) {
+            mood.set(Mood.HUNGRY);
+        } else if (state == State.PLAYING) {
+            mood.set(Mood.ANGRY);
         } else if (fullness < 50) {
-            currentSprite = typeSprites.get("HUNGRY");
+            mood.set(Mood.HUNGRY);
         } else if (health < 50 || happiness < 50 || energy < 50) {
-            currentSprite = typeSprites.get("ANGRY");
+            mood.set(Mood.ANGRY);
         } else {
-            currentSprite = typeSprites.get("NORMAL");
+            mood.set(Mood.NORMAL);
         }
     }
-} 
\ No newline at end of file
+}
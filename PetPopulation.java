@@ -0,0 +1,254 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Struct-of-arrays store for simulating very large numbers of pets.
+ * Each stat lives in its own primitive column, so ticking the whole
+ * population is a handful of tight array loops instead of millions of
+ * object updates. The rules are the same as {@link PetSimulation#tick(Pet)}.
+ */
+public class PetPopulation {
+    // Pets per work unit; small enough that a block's columns stay in cache
+    private static final int BLOCK_SIZE = 4096;
+
+    // Below this many pets the fork/join overhead outweighs the gain
+    private static final int PARALLEL_THRESHOLD = 4 * BLOCK_SIZE;
+
+    private static final byte IDLE = (byte) Pet.State.IDLE.ordinal();
+    private static final byte SLEEPING = (byte) Pet.State.SLEEPING.ordinal();
+    private static final byte SICK = (byte) Pet.State.SICK.ordinal();
+    private static final Pet.State[] STATES = Pet.State.values();
+
+    private int size = 0;
+    private int[] health;
+    private int[] maxHealth;
+    private byte[] happiness;
+    private byte[] fullness;
+    private byte[] energy;
+    private byte[] state;
+
+    public PetPopulation(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        health = new int[capacity];
+        maxHealth = new int[capacity];
+        happiness = new byte[capacity];
+        fullness = new byte[capacity];
+        energy = new byte[capacity];
+        state = new byte[capacity];
+    }
+
+    /**
+     * Adds a pet to the population by copying its current stats.
+     * @return The index of the new pet
+     */
+    public int add(Pet pet) {
+        int index = add(pet.getHealth(), pet.getMaxHealth(), pet.getHappiness(), pet.getFullness(), pet.getEnergy());
+        state[index] = (byte) pet.getState().ordinal();
+        return index;
+    }
+
+    /**
+     * Adds a pet with the given stats. Happiness, fullness and energy are clamped to 0-100.
+     * @return The index of the new pet
+     */
+    public int add(int health, int maxHealth, int happiness, int fullness, int energy) {
+        if (size == this.health.length) {
+            grow();
+        }
+        int index = size++;
+        this.health[index] = health;
+        this.maxHealth[index] = maxHealth;
+        this.happiness[index] = clampStat(happiness);
+        this.fullness[index] = clampStat(fullness);
+        this.energy[index] = clampStat(energy);
+        this.state[index] = IDLE;
+        return index;
+    }
+
+    private void grow() {
+        int capacity = health.length * 2;
+        health = Arrays.copyOf(health, capacity);
+        maxHealth = Arrays.copyOf(maxHealth, capacity);
+        happiness = Arrays.copyOf(happiness, capacity);
+        fullness = Arrays.copyOf(fullness, capacity);
+        energy = Arrays.copyOf(energy, capacity);
+        state = Arrays.copyOf(state, capacity);
+    }
+
+    private static byte clampStat(int value) {
+        return (byte) Math.max(0, Math.min(value, 100));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getHealth(int index) {
+        return health[index];
+    }
+
+    public int getMaxHealth(int index) {
+        return maxHealth[index];
+    }
+
+    public int getHappiness(int index) {
+        return happiness[index];
+    }
+
+    public int getFullness(int index) {
+        return fullness[index];
+    }
+
+    public int getEnergy(int index) {
+        return energy[index];
+    }
+
+    public Pet.State getState(int index) {
+        return STATES[state[index]];
+    }
+
+    /**
+     * Copies the stats of one pet in the population back onto a Pet object.
+     */
+    public void copyTo(int index, Pet pet) {
+        pet.setMaxHealth(maxHealth[index]);
+        pet.setHealth(health[index]);
+        pet.setHappiness(happiness[index]);
+        pet.setFullness(fullness[index]);
+        pet.setEnergy(energy[index]);
+        pet.setState(STATES[state[index]]);
+    }
+
+    /**
+     * Advances every pet in the population by the given number of ticks.
+     * Large populations are split into blocks and ticked on all cores.
+     */
+    public void tick(int ticks) {
+        if (ticks <= 0 || size == 0) {
+            return;
+        }
+
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (size < PARALLEL_THRESHOLD) {
+            for (int b = 0; b < blocks; b++) {
+                tickBlock(b, ticks);
+            }
+        } else {
+            IntStream.range(0, blocks).parallel().forEach(b -> tickBlock(b, ticks));
+        }
+    }
+
+    private void tickBlock(int block, int ticks) {
+        int from = block * BLOCK_SIZE;
+        int to = Math.min(from + BLOCK_SIZE, size);
+        for (int t = 0; t < ticks; t++) {
+            decay(from, to);
+        }
+        updateStates(from, to);
+    }
+
+    /**
+     * One tick of decay over a range of pets. The loop body is branch-free
+     * (comparisons become 0/1 via sign shifts) so the JIT can vectorize it.
+     */
+    private void decay(int from, int to) {
+        int[] health = this.health;
+        int[] maxHealth = this.maxHealth;
+        byte[] happiness = this.happiness;
+        byte[] fullness = this.fullness;
+        byte[] energy = this.energy;
+
+        for (int i = from; i < to; i++) {
+            int f = Math.max(0, fullness[i] - 1);
+            int h = Math.max(0, happiness[i] - 1);
+            int e = Math.max(0, energy[i] - 1);
+            fullness[i] = (byte) f;
+            happiness[i] = (byte) h;
+            energy[i] = (byte) e;
+
+            // 1 for every need below 20, applied the way Pet.decreaseHealth would
+            int hp = health[i];
+            int max = maxHealth[i];
+            hp = Math.min(hp - ((e - 20) >>> 31), max);
+            hp = Math.min(hp - ((f - 20) >>> 31), max);
+            hp = Math.min(hp - ((h - 20) >>> 31), max);
+            int loss = ((e - 20) >>> 31) | ((f - 20) >>> 31) | ((h - 20) >>> 31);
+            // Pet only clamps to max health when it actually loses health
+            health[i] = loss != 0 ? hp : health[i];
+        }
+    }
+
+    private void updateStates(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (health[i] < 30) {
+                state[i] = SICK;
+            } else if (energy[i] < 30) {
+                state[i] = SLEEPING;
+            } else {
+                state[i] = IDLE;
+            }
+        }
+    }
+
+    /**
+     * Applies one row of the action table's stat changes to every pet, e.g.
+     * feeding the whole population. Each column is updated in its own loop,
+     * with the same clamping as {@link ActionTable#applyStats(int, Pet)}.
+     */
+    public void apply(ActionTable actions, int row) {
+        int maxHealthChange = actions.getMaxHealth(row);
+        if (maxHealthChange != 0) {
+            for (int i = 0; i < size; i++) {
+                maxHealth[i] += maxHealthChange;
+                health[i] = Math.min(maxHealth[i], health[i] + maxHealthChange);
+            }
+        }
+        int healthChange = actions.getHealth(row);
+        if (healthChange != 0) {
+            for (int i = 0; i < size; i++) {
+                health[i] = Math.min(health[i] + healthChange, maxHealth[i]);
+            }
+        }
+        addClamped(happiness, actions.getHappiness(row));
+        addClamped(fullness, actions.getFullness(row));
+        addClamped(energy, actions.getEnergy(row));
+        if (actions.healsToFull(row)) {
+            System.arraycopy(maxHealth, 0, health, 0, size);
+        }
+    }
+
+    private void addClamped(byte[] column, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            column[i] = clampStat(column[i] + amount);
+        }
+    }
+
+    /**
+     * Headless throughput run for large populations.
+     * Usage: java PetPopulation [pets] [ticks]
+     */
+    public static void main(String[] args) {
+        int petCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        PetPopulation population = new PetPopulation(petCount);
+        for (int i = 0; i < petCount; i++) {
+            population.add(100, 100, 100 - i % 100, 100 - i % 37, 100 - i % 53);
+        }
+
+        // Warm up so the JIT compiles the decay loop before timing it
+        population.tick(ticks);
+
+        long start = System.nanoTime();
+        population.tick(ticks);
+        long elapsed = System.nanoTime() - start;
+
+        double ticksPerSecond = (double) petCount * ticks / (elapsed / 1_000_000_000.0);
+        System.out.printf("Ran %d ticks on %d pets using %d cores in %.1f ms (%.0f pet-ticks/s)%n",
+                ticks, petCount, Runtime.getRuntime().availableProcessors(),
+                elapsed / 1_000_000.0, ticksPerSecond);
+    }
+}
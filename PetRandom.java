@@ -0,0 +1,57 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A pet's own random number stream, used for every reward and chance roll.
+ *
+ * <p>It is the same SplitMix64 generator {@link java.util.SplittableRandom}
+ * uses, but its whole state is two numbers, the seed and how many values have
+ * been drawn, so it can be stored in a save and restored exactly. A game
+ * replayed from the same save and actions rolls exactly the same numbers.
+ * Each pet has its own instance, so pets simulated in parallel never contend
+ * on a shared generator the way Math.random does.
+ *
+ * <p>Not thread-safe; it is guarded by the {@link GameState} that owns it.
+ */
+public class PetRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long count;
+
+    public PetRandom(long seed, long count) {
+        this.seed = seed;
+        this.count = count;
+    }
+
+    /**
+     * Creates a stream with a fresh random seed, for a new pet.
+     */
+    public static PetRandom newSeeded() {
+        return new PetRandom(ThreadLocalRandom.current().nextLong(), 0);
+    }
+
+    @Override
+    public long nextLong() {
+        count++;
+        return mix64(seed + count * GOLDEN_GAMMA);
+    }
+
+    // SplittableRandom's output function (Stafford variant 13)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * How many values have been drawn; together with the seed this is the whole state.
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Thread-safe registry of many pets, each one a {@link GameState}, keyed by id.
+ *
+ * <p>Pets are sharded across lock stripes by id. Every operation on a pet
+ * runs while holding its stripe's lock, so operations on one pet are
+ * linearizable (they happen one at a time, in a single order), while
+ * operations on pets in different stripes run fully in parallel. There are
+ * several stripes per core, so two busy pets rarely share one.
+ */
+public class PetRegistry {
+    private final Stripe[] stripes;
+    private final int mask;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private static final class Stripe {
+        // Keeps neighbouring stripes' lock words on different cache lines
+        @SuppressWarnings("unused")
+        long p1, p2, p3, p4, p5, p6, p7;
+
+        // Guarded by this stripe's monitor
+        final Map<Long, GameState> pets = new HashMap<>();
+    }
+
+    public PetRegistry() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stripeCount The number of lock stripes, rounded up to a power of two
+     */
+    public PetRegistry(int stripeCount) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        mask = count - 1;
+    }
+
+    private Stripe stripeFor(long id) {
+        // Ids are handed out in sequence, so the low bits spread pets evenly
+        return stripes[(int) (id ^ (id >>> 32)) & mask];
+    }
+
+    /**
+     * Adds a pet.
+     * @return The pet's new id
+     */
+    public long add(GameState pet) {
+        long id = nextId.getAndIncrement();
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            stripe.pets.put(id, pet);
+        }
+        return id;
+    }
+
+    public boolean remove(long id) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            return stripe.pets.remove(id) != null;
+        }
+    }
+
+    /**
+     * Runs an operation on a pet, holding its lock for the whole operation, so
+     * checks and updates inside it can't interleave with other operations on the same pet.
+     * @param id The pet's id
+     * @param operation The operation; it must not block or touch other pets
+     * @return What the operation returned, or null if there is no such pet
+     */
+    public <R> R withPet(long id, Function<GameState, R> operation) {
+        Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            GameState pet = stripe.pets.get(id);
+            return pet != null ? operation.apply(pet) : null;
+        }
+    }
+
+    /**
+     * Runs an operation on every pet, one stripe at a time.
+     */
+    public void forEach(Consumer<GameState> operation) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (GameState pet : stripe.pets.values()) {
+                    operation.accept(pet);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.pets.size();
+            }
+        }
+        return size;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Contention benchmark: threads run random actions on random pets, with
+     * 1, 2, 4, ... threads up to the number of cores, and the same again with
+     * a single registry-wide lock for comparison.
+     * Usage: java PetRegistry [pets] [actionsPerThread]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int petCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int actions = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int stripes : new int[] {4 * cores, 1}) {
+            PetRegistry registry = new PetRegistry(stripes);
+            for (int i = 0; i < petCount; i++) {
+                GameState pet = new GameState();
+                pet.startNewGame("Pet " + i, new Pet("Pet " + i, "DOG"));
+                registry.add(pet);
+            }
+
+            System.out.printf("%d stripe(s), %d pets:%n", registry.getStripeCount(), petCount);
+            double single = 0;
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                // Warm up once so the JIT has compiled the action paths
+                run(registry, petCount, threads, actions / 10);
+                double perSecond = run(registry, petCount, threads, actions);
+                if (threads == 1) {
+                    single = perSecond;
+                }
+                System.out.printf("  %2d threads: %,12.0f actions/s  (%.2fx)%n", threads, perSecond, perSecond / single);
+            }
+        }
+    }
+
+    private static double run(PetRegistry registry, int petCount, int threadCount, int actions)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < actions; i++) {
+                    long id = 1 + random.nextInt(petCount);
+                    int action = random.nextInt(4);
+                    registry.withPet(id, pet -> switch (action) {
+                        case 0 -> pet.feedPet("Kibble");
+                        case 1 -> pet.playWithPet(5) > 0;
+                        case 2 -> pet.purchaseItem("Kibble") == GameState.PurchaseResult.OK;
+                        default -> pet.getCurrency() > 0;
+                    });
+                }
+            }));
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threadCount * actions / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,343 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless HTTP service that hosts many pets in one JVM, e.g. a whole
+ * classroom. Each pet is its own {@link GameState}, so every action follows
+ * exactly the same rules as the game screens. Requests are handled on virtual
+ * threads, one per request; pets live in a lock-striped {@link PetRegistry},
+ * so actions on different pets run in parallel. A single timer ticks every pet.
+ *
+ * <pre>
+ *  POST /pets?name=Rex&amp;type=DOG      adopt a new pet
+ *  GET  /pets/{id}                     read its state
+ *  POST /pets/{id}/feed?food=Kibble
+ *  POST /pets/{id}/play
+ *  POST /pets/{id}/sleep
+ *  POST /pets/{id}/vet
+ *  POST /pets/{id}/buy?item=Treats&amp;quantity=2   quantity defaults to 1
+ *  POST /pets/{id}/routine?do=feed:Kibble,play,buy:Treats:2   all as one unit
+ * </pre>
+ *
+ * Usage: java PetServer [port]
+ */
+public class PetServer {
+    public static final int DEFAULT_PORT = 8080;
+
+    private final HttpServer server;
+    private final PetRegistry registry = new PetRegistry();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "pet-server-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PetServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/pets", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public void start() {
+        server.start();
+        ticker.scheduleAtFixedRate(this::tickAll, PetSimulation.TICK_MILLIS, PetSimulation.TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+        server.stop(1);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void tickAll() {
+        registry.forEach(pet -> pet.tick(1));
+    }
+
+    private record Response(int status, String body) {}
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            respond(exchange, 500, error("internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        // "/pets", "/pets/{id}" or "/pets/{id}/{action}"
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        if (parts.length < 2 || !parts[1].equals("pets")) {
+            respond(exchange, 404, error("not found"));
+            return;
+        }
+        if (parts.length == 2) {
+            if (!method.equals("POST")) {
+                respond(exchange, 405, error("use POST to adopt a pet"));
+                return;
+            }
+            adopt(exchange, query);
+            return;
+        }
+
+        long id = parts.length <= 4 ? parseId(parts[2]) : -1;
+        Response response;
+        if (parts.length == 3) {
+            if (!method.equals("GET")) {
+                respond(exchange, 405, error("use GET to read a pet"));
+                return;
+            }
+            response = registry.withPet(id, pet -> new Response(200, petJson(id, pet)));
+        } else if (!method.equals("POST")) {
+            respond(exchange, 405, error("use POST for actions"));
+            return;
+        } else {
+            // The whole action, checks included, runs under the pet's lock
+            response = registry.withPet(id, pet -> act(parts[3], query, id, pet));
+        }
+
+        if (response == null) {
+            respond(exchange, 404, error("no such pet"));
+        } else {
+            respond(exchange, response.status(), response.body());
+        }
+    }
+
+    /**
+     * Runs an action on a pet, with the same rules and messages as the game screens.
+     */
+    private static Response act(String action, Map<String, String> query, long id, GameState pet) {
+        return switch (action) {
+            case "feed" -> {
+                String food = query.getOrDefault("food", "Kibble");
+                ItemCatalog.Item item = ItemCatalog.byName(food);
+                if (item == null || item.category() != ItemCatalog.Category.FOOD) {
+                    yield new Response(400, error(food + " isn't food."));
+                }
+                if (pet.feedPet(item.ordinal())) {
+                    yield new Response(200, petJson(id, pet));
+                }
+                yield pet.getItemCount(item.ordinal()) > 0
+                        ? new Response(409, error(pet.getPet().getName() + " isn't hungry again yet."))
+                        : new Response(409, error("You don't have any " + food + " in your inventory."));
+            }
+            case "play" -> {
+                int earned = pet.playWithPet();
+                yield earned >= 0
+                        ? new Response(200, "{\"earned\":" + earned + ",\"pet\":" + petJson(id, pet) + "}")
+                        : new Response(409, error(pet.getPet().getName() + " isn't ready to play again yet."));
+            }
+            case "sleep" -> {
+                int earned = pet.sleepPet();
+                yield earned >= 0
+                        ? new Response(200, "{\"earned\":" + earned + ",\"pet\":" + petJson(id, pet) + "}")
+                        : new Response(409, error(pet.getPet().getName() + " isn't tired enough to sleep again yet."));
+            }
+            case "vet" -> {
+                int cost = ActionTable.get().getCost(ActionTable.VET);
+                if (pet.visitVet()) {
+                    yield new Response(200, petJson(id, pet));
+                }
+                yield pet.getCurrency() < cost
+                        ? new Response(409, error("You need " + cost + " dabloons to visit the vet."))
+                        : new Response(409, error("The vet can't see " + pet.getPet().getName() + " again yet."));
+            }
+            case "buy" -> {
+                ItemCatalog.Item item = ItemCatalog.byName(query.get("item"));
+                if (item == null) {
+                    yield new Response(400, error("The shop doesn't sell " + query.get("item") + "."));
+                }
+                int quantity = parseQuantity(query.getOrDefault("quantity", "1"));
+                if (quantity < 1) {
+                    yield new Response(400, error("quantity must be a positive number"));
+                }
+                // Several are bought in one go, or none
+                yield switch (pet.purchaseItems(item.ordinal(), quantity)) {
+                    case NOT_ENOUGH_CURRENCY -> new Response(409, error("You don't have enough dabloons to purchase this item!"));
+                    case INVENTORY_FULL -> new Response(409, error("You can't carry more than " + item.stackCap() + " of this item!"));
+                    case OK -> new Response(200, petJson(id, pet));
+                };
+            }
+            case "routine" -> {
+                // Several actions as one unit: one journal record, one refresh
+                List<GameState.Action> actions = parseRoutine(query.getOrDefault("do", ""));
+                if (actions == null) {
+                    yield new Response(400, error("do must be a comma-separated list like feed:Kibble,play,buy:Treats:2"));
+                }
+                int[] results = pet.apply(actions);
+                StringBuilder json = new StringBuilder("{\"results\":[");
+                for (int i = 0; i < results.length; i++) {
+                    json.append(i > 0 ? "," : "").append(results[i]);
+                }
+                yield new Response(200, json.append("],\"pet\":").append(petJson(id, pet)).append('}').toString());
+            }
+            default -> new Response(404, error("unknown action " + action));
+        };
+    }
+
+    /**
+     * Parses a care routine such as "feed:Kibble,play,sleep,vet,use:Vaccine,buy:Treats:2".
+     * @return The actions, or null if any of them is invalid
+     */
+    private static List<GameState.Action> parseRoutine(String routine) {
+        List<GameState.Action> actions = new ArrayList<>();
+        for (String step : routine.split(",")) {
+            String[] parts = step.trim().split(":");
+            int item = parts.length > 1 ? ItemCatalog.ordinalOf(parts[1]) : -1;
+            int quantity = parts.length > 2 ? parseQuantity(parts[2]) : 1;
+            GameState.Action action = switch (parts[0]) {
+                case "feed" -> item >= 0 ? GameState.Action.feed(item) : null;
+                case "play" -> GameState.Action.play();
+                case "sleep" -> GameState.Action.sleep();
+                case "vet" -> GameState.Action.vet();
+                case "use" -> item >= 0 ? GameState.Action.use(item) : null;
+                case "buy" -> item >= 0 && quantity > 0 ? GameState.Action.buy(item, quantity) : null;
+                default -> null;
+            };
+            if (action == null) {
+                return null;
+            }
+            actions.add(action);
+        }
+        return actions;
+    }
+
+    private static int parseQuantity(String quantity) {
+        try {
+            return Integer.parseInt(quantity);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void adopt(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String name = query.get("name");
+        String type = query.getOrDefault("type", "DOG").toUpperCase();
+        if (name == null || name.isBlank()) {
+            respond(exchange, 400, error("a pet needs a name"));
+            return;
+        }
+        if (!type.equals("DOG") && !type.equals("CAT") && !type.equals("BUNNY")) {
+            respond(exchange, 400, error("type must be DOG, CAT or BUNNY"));
+            return;
+        }
+
+        GameState pet = new GameState();
+        pet.startNewGame(name, new Pet(name, type));
+        long id = registry.add(pet);
+        String body = registry.withPet(id, added -> petJson(id, added));
+        respond(exchange, 201, body);
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String petJson(long id, GameState gameState) {
+        Pet pet = gameState.getPet();
+        StringBuilder json = new StringBuilder(320);
+        json.append("{\"id\":").append(id)
+            .append(",\"name\":").append(quote(pet.getName()))
+            .append(",\"type\":").append(quote(pet.getType()))
+            .append(",\"state\":\"").append(pet.getState()).append('"')
+            .append(",\"mood\":\"").append(pet.getMood()).append('"')
+            .append(",\"health\":").append(pet.getHealth())
+            .append(",\"maxHealth\":").append(pet.getMaxHealth())
+            .append(",\"happiness\":").append(pet.getHappiness())
+            .append(",\"fullness\":").append(pet.getFullness())
+            .append(",\"energy\":").append(pet.getEnergy())
+            .append(",\"currency\":").append(gameState.getCurrency())
+            .append(",\"score\":").append(gameState.getScore())
+            .append(",\"inventory\":{");
+        for (ItemCatalog.Item item : ItemCatalog.all()) {
+            if (item.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append(quote(item.name())).append(':').append(gameState.getItemCount(item.ordinal()));
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        PetServer server = new PetServer(port);
+        Metrics.register();
+        server.start();
+        System.out.println("Pet server listening on http://localhost:" + server.getPort() + "/pets");
+    }
+}
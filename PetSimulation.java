@@ -0,0 +1,226 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed-step simulation kernel that advances a pet's needs over time.
+ * It has no dependency on the JavaFX scene graph, so the game screen and a
+ * headless runner drive it the same way: feed it the current time and it
+ * runs however many whole ticks are due.
+ */
+public class PetSimulation {
+    // One simulation tick every 5 seconds (5,000,000,000 nanoseconds)
+    public static final long TICK_NANOS = 5_000_000_000L;
+    public static final long TICK_MILLIS = TICK_NANOS / 1_000_000L;
+
+    // Never replay more than this many ticks in a single advance, so a long
+    // stall (sleeping laptop, debugger pause) doesn't drain the pet at once
+    public static final int MAX_CATCH_UP_TICKS = 12;
+
+    private final Pet pet;
+    private final IntConsumer stepper;
+    private final long tickNanos;
+    private final int maxCatchUpTicks;
+    private long lastTime = -1;
+    private long accumulator = 0;
+    private long totalTicks = 0;
+
+    public PetSimulation(Pet pet) {
+        this(pet, ticks -> tick(pet, ticks));
+    }
+
+    /**
+     * Creates a simulation whose due ticks are run by the given stepper, e.g.
+     * {@code gameState::tick} so that ticks are journaled like any other action.
+     */
+    public PetSimulation(Pet pet, IntConsumer stepper) {
+        this(pet, stepper, TICK_NANOS, MAX_CATCH_UP_TICKS);
+    }
+
+    public PetSimulation(Pet pet, IntConsumer stepper, long tickNanos, int maxCatchUpTicks) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos must be positive");
+        }
+        this.pet = pet;
+        this.stepper = stepper;
+        this.tickNanos = tickNanos;
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+    }
+
+    /**
+     * Advances the simulation clock to the given time and runs the ticks that are due.
+     * The first call only starts the clock.
+     * @param now The current time in nanoseconds (e.g. System.nanoTime())
+     * @return The number of ticks that were run
+     */
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+
+        accumulator += Math.max(0, now - lastTime);
+        lastTime = now;
+
+        long due = accumulator / tickNanos;
+        int ticks = (int) Math.min(due, maxCatchUpTicks);
+        if (due > ticks) {
+            // Drop the backlog beyond the cap instead of carrying it forward
+            accumulator %= tickNanos;
+        } else {
+            accumulator -= ticks * tickNanos;
+        }
+
+        step(ticks);
+        return ticks;
+    }
+
+    /**
+     * Runs a number of ticks immediately, ignoring the clock.
+     * @param ticks The number of ticks to run
+     */
+    public void step(int ticks) {
+        if (ticks > 0) {
+            stepper.accept(ticks);
+            totalTicks += ticks;
+        }
+    }
+
+    /**
+     * Restarts the clock, e.g. after the game screen was hidden.
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public Pet getPet() {
+        return pet;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Applies one tick of the decay rules to a pet.
+     * This is the single source of truth for how needs change over time.
+     */
+    public static void tick(Pet pet) {
+        // Decrease attributes over time to simulate needs
+        pet.decreaseFullness(1);
+        pet.decreaseHappiness(1);
+        pet.decreaseEnergy(1);
+
+        // Each need that is low costs one point of health
+        if (pet.getEnergy() < 20) {
+            pet.decreaseHealth(1);
+        }
+        if (pet.getFullness() < 20) {
+            pet.decreaseHealth(1);
+        }
+        if (pet.getHappiness() < 20) {
+            pet.decreaseHealth(1);
+        }
+
+        settle(pet);
+    }
+
+    /**
+     * Applies a number of ticks to a pet, one by one.
+     */
+    public static void tick(Pet pet, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick(pet);
+        }
+    }
+
+    /**
+     * Sets the pet's resting state from its stats, ending any action state
+     * such as EATING or PLAYING.
+     */
+    public static void settle(Pet pet) {
+        if (pet.getHealth() < 30) {
+            pet.setState(Pet.State.SICK);
+        } else if (pet.getEnergy() < 30) {
+            pet.setState(Pet.State.SLEEPING);
+        } else {
+            pet.setState(Pet.State.IDLE);
+        }
+    }
+
+    /**
+     * Applies the effect of many ticks in constant time.
+     * Every rule in {@link #tick(Pet)} is piecewise-linear in the tick count:
+     * each need drops by one per tick until it hits zero, and costs one health
+     * on every tick where it is below 20. So the result can be computed
+     * directly instead of replaying the ticks one by one.
+     * @param pet The pet to advance
+     * @param ticks The number of ticks that have passed
+     */
+    public static void catchUp(Pet pet, long ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+
+        int fullness = pet.getFullness();
+        int happiness = pet.getHappiness();
+        int energy = pet.getEnergy();
+
+        long healthLoss = lowTicks(fullness, ticks) + lowTicks(happiness, ticks) + lowTicks(energy, ticks);
+
+        pet.setFullness((int) Math.max(0, fullness - ticks));
+        pet.setHappiness((int) Math.max(0, happiness - ticks));
+        pet.setEnergy((int) Math.max(0, energy - ticks));
+
+        if (healthLoss > 0) {
+            // The first point lost also clamps health to max health, as setHealth does
+            long health = Math.min(pet.getHealth() - 1L, pet.getMaxHealth()) - (healthLoss - 1);
+            pet.setHealth((int) Math.max(Integer.MIN_VALUE, health));
+        }
+
+        settle(pet);
+    }
+
+    /**
+     * Counts the ticks, out of the given number, that end with a need below 20.
+     * After tick t the need is max(0, start - t), which is below 20 from tick start - 19 on.
+     */
+    private static long lowTicks(int start, long ticks) {
+        return Math.max(0, ticks - Math.max(0, start - 20));
+    }
+
+    /**
+     * Returns how many whole ticks have passed since a save's last-simulated timestamp.
+     * @param lastSimulatedMillis Wall-clock time the pet was last simulated, or 0 if unknown
+     * @param nowMillis The current wall-clock time
+     */
+    public static long ticksSince(long lastSimulatedMillis, long nowMillis) {
+        if (lastSimulatedMillis <= 0 || nowMillis <= lastSimulatedMillis) {
+            return 0;
+        }
+        return (nowMillis - lastSimulatedMillis) / TICK_MILLIS;
+    }
+
+    /**
+     * Headless runner: ticks a batch of pets without a Stage and reports throughput.
+     * Usage: java PetSimulation [pets] [ticks]
+     */
+    public static void main(String[] args) {
+        int petCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        PetSimulation[] simulations = new PetSimulation[petCount];
+        for (int i = 0; i < petCount; i++) {
+            simulations[i] = new PetSimulation(new Pet("Pet " + i, "DOG"));
+        }
+
+        long start = System.nanoTime();
+        for (PetSimulation simulation : simulations) {
+            simulation.step(ticks);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double ticksPerSecond = (double) petCount * ticks / (elapsed / 1_000_000_000.0);
+        System.out.printf("Ran %d ticks on %d pets in %.1f ms (%.0f pet-ticks/s)%n",
+                ticks, petCount, elapsed / 1_000_000.0, ticksPerSecond);
+    }
+}
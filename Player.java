@@ -1,6 +1,8 @@
 /**
  * Represents the player in the Tamagotchi game.
  * Stores player information like name and score.
+ * Currency and statistics are guarded by this object's monitor, so
+ * spendCurrency's check and deduction can't interleave with another thread.
  */
 public class Player {
     private String name;
@@ -16,15 +18,15 @@ public class Player {
     }
 
     // Currency management
-    public int getCurrency() {
+    public synchronized int getCurrency() {
         return currency;
     }
 
-    public void addCurrency(int amount) {
+    public synchronized void addCurrency(int amount) {
         currency += amount;
     }
 
-    public boolean spendCurrency(int amount) {
+    public synchronized boolean spendCurrency(int amount) {
         if (currency >= amount) {
             currency -= amount;
             return true;
@@ -33,15 +35,15 @@ public class Player {
     }
 
     // Statistics tracking
-    public void incrementPlayTime(int minutes) {
+    public synchronized void incrementPlayTime(int minutes) {
         totalPlayTime += minutes;
     }
 
-    public void incrementSessions() {
+    public synchronized void incrementSessions() {
         numberOfSessions++;
     }
 
-    public double getAveragePlayTimePerSession() {
+    public synchronized double getAveragePlayTimePerSession() {
         return numberOfSessions == 0 ? 0 : 
                totalPlayTime / (double) numberOfSessions;
     }
@@ -51,11 +53,11 @@ public class Player {
         return name;
     }
 
-    public int getTotalPlayTime() {
+    public synchronized int getTotalPlayTime() {
         return totalPlayTime;
     }
 
-    public int getNumberOfSessions() {
+    public synchronized int getNumberOfSessions() {
         return numberOfSessions;
     }
 
@@ -0,0 +1,436 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Index of every save slot in the saves directory.
+ *
+ * <p>Each slot is one save file, saves/&lt;slot&gt;.dat (or an older
+ * saves/&lt;slot&gt;.txt), so any number of pets can be saved, including
+ * several of the same species. The catalog keeps a small summary of each
+ * slot in a manifest (saves/catalog/index.dat), so the load screen can list
+ * the slots without opening their save files. While the game runs, a
+ * WatchService keeps the summaries current as saves are written or removed.
+ *
+ * <p>On startup the manifest is trusted as long as the saves directory hasn't
+ * changed since it was written. Otherwise the directory is listed in the
+ * background and only the files whose size or modification time changed are
+ * read again, each on its own virtual thread, so a scan takes about as long
+ * as the slowest file rather than the sum of all of them. Listeners hear
+ * about each slot as soon as it has been read.
+ */
+public class SaveCatalog {
+    public static final Path SAVES_DIR = Path.of("saves");
+
+    private static final int MAGIC = 0x5443494E; // "TCIN"
+    private static final int VERSION = 1;
+
+    // Most save files read at once during a scan, to stay well under the open file limit
+    private static final int MAX_CONCURRENT_READS = 64;
+
+    private static SaveCatalog instance;
+
+    /**
+     * What the load screen shows for a slot.
+     * @param slot The slot name, i.e. the save file name without its extension
+     * @param path The save file the summary was read from
+     * @param lastPlayed When the pet was last played (epoch millis)
+     * @param fileSize The save file's size, to tell when it changes
+     * @param fileModified The save file's modification time (epoch millis), to tell when it changes
+     */
+    public record Summary(String slot, Path path, String name, String species,
+                          int health, int maxHealth, int happiness, int fullness, int energy,
+                          int currency, int score, long lastPlayed, long fileSize, long fileModified) {
+    }
+
+    private final Path directory;
+    private final Path indexPath;
+    private final Map<String, Summary> slots = new ConcurrentHashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final Thread watchThread;
+    private volatile WatchService watcher;
+
+    // Modification time of the directory that the summaries are known to be current for
+    private volatile long indexedDirectoryTime = -1;
+
+    private SaveCatalog(Path directory) {
+        this.directory = directory;
+        this.indexPath = directory.resolve("catalog").resolve("index.dat");
+        // Only the manifest is read up front; checking it against the directory happens in the background
+        indexedDirectoryTime = readIndex();
+
+        watchThread = new Thread(this::watch, "save-catalog");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    public static synchronized SaveCatalog getInstance() {
+        if (instance == null) {
+            instance = new SaveCatalog(SAVES_DIR);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a new, unused save file for a pet of the given type,
+     * e.g. saves/dog_20250101-093000.dat.
+     */
+    public static Path newSlotPath(String petType) {
+        String base = petType.toLowerCase() + "_"
+                + java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path path = SAVES_DIR.resolve(base + ".dat");
+        for (int n = 2; Files.exists(path) || isBeingWritten(path); n++) {
+            path = SAVES_DIR.resolve(base + "-" + n + ".dat");
+        }
+        return path;
+    }
+
+    // A slot whose first save is still being written only has a temporary file so far
+    private static boolean isBeingWritten(Path path) {
+        String prefix = path.getFileName().toString();
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            return files.anyMatch(file -> file.getFileName().toString().startsWith(prefix)
+                    && file.getFileName().toString().endsWith(".tmp"));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the file the game should save a slot to. Older text saves are
+     * replaced by a binary save of the same name.
+     */
+    public static Path savePathFor(Summary summary) {
+        return summary.path().resolveSibling(summary.slot() + ".dat");
+    }
+
+    /**
+     * Returns every slot, most recently played first.
+     */
+    public List<Summary> getSlots() {
+        List<Summary> list = new ArrayList<>(slots.values());
+        list.sort(Comparator.comparingLong(Summary::lastPlayed).reversed()
+                .thenComparing(Summary::slot));
+        return list;
+    }
+
+    /**
+     * Adds a listener that is called whenever slots change. It is called from
+     * background threads, possibly several at once, once for every slot read during a scan.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reconciles the summaries with the directory listing, reading only save
+     * files that are new or have changed since they were summarized. Files are
+     * read in parallel on virtual threads; one unreadable file only loses its own slot.
+     */
+    public synchronized void rescan() {
+        // Taken before listing, so a change during the scan makes the next start rescan
+        long time = directoryTime();
+
+        Map<String, Path> found = new HashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String slot = slotName(file);
+                // Prefer the binary save if a slot has both
+                if (slot != null && (!found.containsKey(slot) || file.toString().endsWith(".dat"))) {
+                    found.put(slot, file);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error listing saves: " + e.getMessage());
+            return;
+        }
+
+        if (slots.keySet().retainAll(found.keySet())) {
+            notifyListeners();
+        }
+
+        Semaphore reads = new Semaphore(MAX_CONCURRENT_READS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, Path> entry : found.entrySet()) {
+                executor.submit(() -> {
+                    reads.acquireUninterruptibly();
+                    try {
+                        Summary known = slots.get(entry.getKey());
+                        Summary summary = summarize(entry.getKey(), entry.getValue(), known);
+                        if (summary == known) {
+                            return;
+                        }
+                        if (summary != null) {
+                            slots.put(entry.getKey(), summary);
+                        } else {
+                            slots.remove(entry.getKey());
+                        }
+                    } finally {
+                        reads.release();
+                    }
+                    notifyListeners();
+                });
+            }
+        } // Closing the executor waits for every read to finish
+        indexedDirectoryTime = time;
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Re-reads one slot after its save file changed, or drops it if it's gone.
+     */
+    private synchronized void refresh(String slot) {
+        Path binary = directory.resolve(slot + ".dat");
+        Path text = directory.resolve(slot + ".txt");
+        Path file = Files.exists(binary) ? binary : Files.exists(text) ? text : null;
+        Summary summary = file != null ? summarize(slot, file, slots.get(slot)) : null;
+        if (summary != null) {
+            slots.put(slot, summary);
+        } else {
+            slots.remove(slot);
+        }
+    }
+
+    /**
+     * Returns the summary of a save file, reusing the known one if the file
+     * hasn't changed since. Returns null if the file can't be read.
+     */
+    private static Summary summarize(String slot, Path file, Summary known) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (known != null && known.path().equals(file) && known.fileSize() == size
+                    && known.fileModified() == modified) {
+                return known;
+            }
+
+            long start = System.nanoTime();
+            SaveRecord record = SaveCodec.read(file);
+            Metrics.SLOT_READ_TIME.record(System.nanoTime() - start);
+            long lastPlayed = record.has(SaveField.LAST_SIMULATED) ? record.getLong(SaveField.LAST_SIMULATED) : modified;
+            return new Summary(slot, file,
+                    record.has(SaveField.NAME) ? record.getString(SaveField.NAME) : "Pet Name",
+                    record.has(SaveField.TYPE) ? record.getString(SaveField.TYPE) : speciesFromSlot(slot),
+                    stat(record, SaveField.HEALTH, 100),
+                    stat(record, SaveField.MAX_HEALTH, 100),
+                    stat(record, SaveField.HAPPINESS, 100),
+                    stat(record, SaveField.FULLNESS, 100),
+                    stat(record, SaveField.ENERGY, 100),
+                    stat(record, SaveField.CURRENCY, 100),
+                    stat(record, SaveField.SCORE, 0),
+                    lastPlayed, size, modified);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading save " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int stat(SaveRecord record, SaveField field, int defaultValue) {
+        return record.has(field) ? record.getInt(field) : defaultValue;
+    }
+
+    // Older saves don't store the species, but their file is named after it (e.g. dog_save)
+    private static String speciesFromSlot(String slot) {
+        int underscore = slot.indexOf('_');
+        String species = underscore > 0 ? slot.substring(0, underscore) : slot;
+        return species.isEmpty() ? "Dog" : Character.toUpperCase(species.charAt(0)) + species.substring(1);
+    }
+
+    /**
+     * Returns the slot a file in the saves directory belongs to, or null if it isn't a save.
+     */
+    private static String slotName(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".dat") || name.endsWith(".txt")) {
+            return name.substring(0, name.length() - 4);
+        }
+        return null;
+    }
+
+    private long directoryTime() {
+        try {
+            return Files.getLastModifiedTime(directory).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Loads the manifest.
+     * @return The directory time the manifest was written for, or -1 if there is no usable manifest
+     */
+    private long readIndex() {
+        if (!Files.exists(indexPath)) {
+            return -1;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return -1;
+            }
+            long time = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String slot = in.readUTF();
+                Summary summary = new Summary(slot, directory.resolve(in.readUTF()), in.readUTF(), in.readUTF(),
+                        in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readLong());
+                slots.put(slot, summary);
+            }
+            return time;
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable save catalog: " + e.getMessage());
+            slots.clear();
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the manifest, replacing the old one atomically.
+     */
+    private synchronized void writeIndex() {
+        Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(indexedDirectoryTime);
+                Summary[] summaries = slots.values().toArray(new Summary[0]);
+                out.writeInt(summaries.length);
+                for (Summary summary : summaries) {
+                    out.writeUTF(summary.slot());
+                    out.writeUTF(summary.path().getFileName().toString());
+                    out.writeUTF(summary.name());
+                    out.writeUTF(summary.species());
+                    out.writeInt(summary.health());
+                    out.writeInt(summary.maxHealth());
+                    out.writeInt(summary.happiness());
+                    out.writeInt(summary.fullness());
+                    out.writeInt(summary.energy());
+                    out.writeInt(summary.currency());
+                    out.writeInt(summary.score());
+                    out.writeLong(summary.lastPlayed());
+                    out.writeLong(summary.fileSize());
+                    out.writeLong(summary.fileModified());
+                }
+            }
+            Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing save catalog: " + e.getMessage());
+        }
+    }
+
+    private void watch() {
+        try {
+            Files.createDirectories(indexPath.getParent());
+        } catch (IOException e) {
+            System.err.println("Error creating saves directory: " + e.getMessage());
+            return;
+        }
+
+        try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+            watcher = watchService;
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+            // Watching starts first, so nothing written during the scan is missed
+            if (indexedDirectoryTime < 0 || indexedDirectoryTime != directoryTime()) {
+                rescan();
+                writeIndex();
+            }
+
+            while (true) {
+                WatchKey key = watchService.take();
+                // Taken before the events are read, so no change can slip in between
+                long time = directoryTime();
+
+                boolean overflow = false;
+                Set<String> changed = new HashSet<>();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else {
+                        String slot = slotName((Path) event.context());
+                        if (slot != null) {
+                            changed.add(slot);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    System.err.println("Saves directory is no longer watched");
+                    return;
+                }
+
+                if (overflow) {
+                    rescan();
+                } else if (!changed.isEmpty()) {
+                    for (String slot : changed) {
+                        refresh(slot);
+                    }
+                    indexedDirectoryTime = time;
+                }
+                if (!changed.isEmpty()) {
+                    notifyListeners();
+                }
+                if (overflow || !changed.isEmpty()) {
+                    writeIndex();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        } catch (IOException e) {
+            System.err.println("Error watching saves directory: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching and writes the manifest one last time.
+     */
+    public void close() {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing save catalog: " + e.getMessage());
+        }
+        writeIndex();
+    }
+}
@@ -0,0 +1,139 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+
+/**
+ * The one way save files are read and written. Saves are always written in
+ * the {@link BinarySave} format; reading also accepts the older key=value
+ * text saves. Both directions are driven by the {@link SaveField} schema.
+ */
+public class SaveCodec {
+    private static final SaveField[] FIELDS = SaveField.values();
+
+    private SaveCodec() {
+    }
+
+    /**
+     * Writes a record to a save file in the binary format. The bytes go to a
+     * temporary file which is synced and then atomically replaces the real
+     * one, so a crash mid-write leaves the previous save intact.
+     */
+    public static void write(Path path, SaveRecord record) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // A temporary file of its own, so two writers to one save can't clobber each other's
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        ByteBuffer buffer = BinarySave.encode(record);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a save file in either the binary or the old text format.
+     */
+    public static SaveRecord read(Path path) throws IOException {
+        if (BinarySave.isBinarySave(path)) {
+            return BinarySave.open(path).toRecord();
+        }
+        return readText(Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses an old-style text save. Each line is key=value, split at the
+     * first '=' so values may contain '='. Numbers are parsed straight out of
+     * the text; only string fields allocate. Unknown keys are skipped.
+     */
+    public static SaveRecord readText(String text) {
+        SaveRecord record = new SaveRecord();
+        int length = text.length();
+        int lineStart = 0;
+
+        while (lineStart < length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int valueEnd = lineEnd;
+            if (valueEnd > lineStart && text.charAt(valueEnd - 1) == '\r') {
+                valueEnd--;
+            }
+
+            int separator = text.indexOf('=', lineStart);
+            if (separator > lineStart && separator < valueEnd) {
+                SaveField field = findField(text, lineStart, separator);
+                if (field != null) {
+                    readValue(record, field, text, separator + 1, valueEnd);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return record;
+    }
+
+    private static SaveField findField(String text, int start, int end) {
+        int length = end - start;
+        for (SaveField field : FIELDS) {
+            if (matches(text, start, length, field.key())) {
+                return field;
+            }
+            for (String alias : field.aliases()) {
+                if (matches(text, start, length, alias)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String text, int start, int length, String key) {
+        return key.length() == length && text.regionMatches(start, key, 0, length);
+    }
+
+    private static void readValue(SaveRecord record, SaveField field, String text, int start, int end) {
+        try {
+            switch (field.kind()) {
+                case INT, LONG -> record.setLong(field, parseWhole(text, start, end));
+                case DOUBLE -> record.setDouble(field, Double.parseDouble(text.substring(start, end)));
+                case TIME -> record.setLong(field, LocalTime.parse(text.substring(start, end)).toSecondOfDay());
+                case STRING -> {
+                    // The old writers printed missing values as the word "null"
+                    String value = text.substring(start, end);
+                    record.setString(field, value.equals("null") ? null : value);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Skipping bad value for " + field.key() + " in save file");
+        }
+    }
+
+    private static long parseWhole(String text, int start, int end) {
+        try {
+            return Long.parseLong(text, start, end, 10);
+        } catch (NumberFormatException e) {
+            // Some old saves wrote stats as doubles, e.g. "85.0"
+            return (long) Double.parseDouble(text.substring(start, end));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * The schema of a save file: every field, its type and the keys it had in
+ * the old text formats. The order of the constants is the on-disk slot
+ * order of the binary format, so new fields must only ever be added at the end.
+ */
+public enum SaveField {
+    NAME("name", Kind.STRING, "petName"),
+    TYPE("type", Kind.STRING, "petType"),
+    HEALTH("health", Kind.INT),
+    MAX_HEALTH("maxHealth", Kind.INT),
+    HAPPINESS("happiness", Kind.INT),
+    FULLNESS("fullness", Kind.INT),
+    ENERGY("energy", Kind.INT),
+    CURRENCY("currency", Kind.INT),
+    SCORE("score", Kind.INT),
+    KIBBLE("kibble", Kind.INT, "inventory.Kibble"),
+    TREATS("treats", Kind.INT, "inventory.Treats"),
+    PREMIUM_FOOD("premiumFood", Kind.INT, "inventory.Premium Food"),
+    VACCINE("vaccine", Kind.INT, "inventory.Vaccine"),
+    LAST_SIMULATED("lastSimulated", Kind.LONG),
+
+    // Player, parental controls and statistics (formerly only in game_state.txt)
+    PLAYER_NAME("playerName", Kind.STRING),
+    CREATION_DATE("creationDate", Kind.STRING),
+    PARENTAL_PASSWORD("parentalPassword", Kind.STRING),
+    DAILY_TIME_LIMIT("dailyTimeLimit", Kind.INT),
+    ALLOWED_START_TIME("allowedStartTime", Kind.TIME),
+    ALLOWED_END_TIME("allowedEndTime", Kind.TIME),
+    TOTAL_PLAY_TIME("totalPlayTime", Kind.LONG),
+    TOTAL_FEEDINGS("totalFeedings", Kind.INT),
+    TOTAL_PLAY_SESSIONS("totalPlaySessions", Kind.INT),
+    TOTAL_VET_VISITS("totalVetVisits", Kind.INT),
+    HEALTH_SUM("healthSum", Kind.DOUBLE),
+    HEALTH_READINGS("healthReadings", Kind.INT),
+
+    // Sequence number of the first journaled action not included in this save
+    JOURNAL_SEQUENCE("journalSequence", Kind.LONG),
+
+    // The pet's random stream (see PetRandom), so rewards replay exactly
+    RNG_SEED("rngSeed", Kind.LONG),
+    RNG_COUNT("rngCount", Kind.LONG);
+
+    /**
+     * How a field's value is stored. Numbers are kept in a 64-bit slot:
+     * doubles as their raw bits and times as seconds of the day.
+     */
+    public enum Kind {
+        INT, LONG, DOUBLE, TIME, STRING
+    }
+
+    private final String key;
+    private final Kind kind;
+    private final String[] aliases;
+
+    SaveField(String key, Kind kind, String... aliases) {
+        this.key = key;
+        this.kind = kind;
+        this.aliases = aliases;
+    }
+
+    /**
+     * The key this field has in the text save format.
+     */
+    public String key() {
+        return key;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Other keys the old writers used for this field.
+     */
+    public String[] aliases() {
+        return aliases;
+    }
+}
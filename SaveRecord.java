@@ -0,0 +1,51 @@
+/**
+ * The values of every {@link SaveField}, detached from the live game objects.
+ * This is what gets written to and read from a save file. Fields that were
+ * never set (for example because an old save didn't have them) report
+ * {@code has(field) == false} and are left alone when the record is applied.
+ */
+public class SaveRecord {
+    private static final SaveField[] FIELDS = SaveField.values();
+
+    private final long[] values = new long[FIELDS.length];
+    private final String[] strings = new String[FIELDS.length];
+    private final boolean[] present = new boolean[FIELDS.length];
+
+    public boolean has(SaveField field) {
+        return present[field.ordinal()];
+    }
+
+    public int getInt(SaveField field) {
+        return (int) values[field.ordinal()];
+    }
+
+    public long getLong(SaveField field) {
+        return values[field.ordinal()];
+    }
+
+    public double getDouble(SaveField field) {
+        return Double.longBitsToDouble(values[field.ordinal()]);
+    }
+
+    public String getString(SaveField field) {
+        return strings[field.ordinal()];
+    }
+
+    public void setInt(SaveField field, int value) {
+        setLong(field, value);
+    }
+
+    public void setLong(SaveField field, long value) {
+        values[field.ordinal()] = value;
+        present[field.ordinal()] = true;
+    }
+
+    public void setDouble(SaveField field, double value) {
+        setLong(field, Double.doubleToRawLongBits(value));
+    }
+
+    public void setString(SaveField field, String value) {
+        strings[field.ordinal()] = value;
+        present[field.ordinal()] = value != null;
+    }
+}
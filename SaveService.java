@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes saves on a background thread so the JavaFX thread never waits on the disk.
+ * Callers hand over a {@link SaveRecord} snapshot taken on their own thread;
+ * the live game objects are never touched here. Each save goes to a temporary
+ * file which then atomically replaces the real one, so a crash mid-write
+ * can't leave a half-written save behind. If a save for a file is requested
+ * while an earlier one is still queued, only the newest snapshot is written.
+ */
+public class SaveService {
+    private static final SaveService instance = new SaveService();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "save-service");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Saves queued but not yet started, by target file
+    private final Map<Path, PendingSave> pending = new ConcurrentHashMap<>();
+
+    private static class PendingSave {
+        volatile SaveRecord record;
+        final CompletableFuture<Path> done = new CompletableFuture<>();
+
+        PendingSave(SaveRecord record) {
+            this.record = record;
+        }
+    }
+
+    public static SaveService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs a task on the writer thread, after the saves already queued. Used
+     * as an executor for follow-up work that must stay off the JavaFX thread.
+     */
+    public void runOnWriter(Runnable task) {
+        writer.execute(task);
+    }
+
+    /**
+     * Queues a snapshot to be written to a save file.
+     * @return A future that completes with the path once the file is on disk
+     */
+    public CompletableFuture<Path> save(Path path, SaveRecord record) {
+        PendingSave[] queued = new PendingSave[1];
+        PendingSave save = pending.compute(path, (p, existing) -> {
+            if (existing != null) {
+                // Not started yet: just swap in the newer snapshot
+                existing.record = record;
+                return existing;
+            }
+            queued[0] = new PendingSave(record);
+            return queued[0];
+        });
+
+        if (queued[0] != null) {
+            writer.execute(() -> write(path, queued[0]));
+        }
+        return save.done;
+    }
+
+    private void write(Path path, PendingSave save) {
+        // Take the save out of the queue first, so later requests start a new write
+        pending.remove(path, save);
+        GameEvents.Save event = new GameEvents.Save("write", path.toString());
+        try {
+            long start = System.nanoTime();
+            SaveCodec.write(path, save.record);
+            Metrics.SAVE_TIME.record(System.nanoTime() - start);
+            event.end(true);
+            save.done.complete(path);
+        } catch (IOException | RuntimeException e) {
+            event.end(false);
+            System.err.println("Error saving game to " + path + ": " + e.getMessage());
+            save.done.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the writer thread. Called on exit.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Timed out waiting for saves to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Switches the stage between screens and owns their lifecycle.
+ *
+ * <p>Screens that can be shown again keep their instance, and with it their
+ * scene, so going back and forth builds nothing new. Every screen hears
+ * {@link Screen#onShow()} when it becomes visible and {@link Screen#onHide()}
+ * when it is replaced, which is where game loops and animations start and
+ * stop; a hidden screen costs no CPU.
+ */
+public class ScreenNavigator {
+    /**
+     * A screen the navigator can show.
+     */
+    public interface Screen {
+        Scene getScene();
+
+        String getTitle();
+
+        /**
+         * Called after the screen's scene is on the stage. Refresh anything that
+         * may have changed while it was hidden, and start loops and animations.
+         */
+        default void onShow() {
+        }
+
+        /**
+         * Called when another screen replaces this one. Stop loops and animations.
+         */
+        default void onHide() {
+        }
+    }
+
+    private final Stage stage;
+    private final Map<Class<? extends Screen>, Screen> cache = new HashMap<>();
+    private Screen current;
+
+    private ScreenNavigator(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Returns the navigator for a stage, creating it on first use.
+     */
+    public static ScreenNavigator forStage(Stage stage) {
+        Object navigator = stage.getProperties().get(ScreenNavigator.class);
+        if (navigator == null) {
+            navigator = new ScreenNavigator(stage);
+            stage.getProperties().put(ScreenNavigator.class, navigator);
+        }
+        return (ScreenNavigator) navigator;
+    }
+
+    /**
+     * Shows the cached screen of a type, creating and caching it the first time.
+     * @param type The screen's class
+     * @param factory Creates the screen if there isn't one cached yet
+     * @return The screen being shown
+     */
+    public <T extends Screen> T show(Class<T> type, Supplier<T> factory) {
+        T screen = type.cast(cache.get(type));
+        if (screen == null) {
+            screen = factory.get();
+            cache.put(type, screen);
+        }
+        show(screen);
+        return screen;
+    }
+
+    /**
+     * Shows a fresh screen, replacing any cached screen of its type, e.g. a
+     * game screen for a different pet.
+     */
+    public <T extends Screen> T showNew(T screen) {
+        Screen old = cache.put(screen.getClass(), screen);
+        if (old != null && old != current) {
+            old.onHide();
+        }
+        show(screen);
+        return screen;
+    }
+
+    /**
+     * Shows a screen without caching it, for screens whose content depends on
+     * the moment they are opened.
+     */
+    public void show(Screen screen) {
+        if (screen == current) {
+            return;
+        }
+        Screen previous = current;
+        current = screen;
+        if (previous != null) {
+            previous.onHide();
+        }
+        stage.setScene(screen.getScene());
+        stage.setTitle(screen.getTitle());
+        screen.onShow();
+    }
+
+    /**
+     * Drops the cached screen of a type; the next {@link #show(Class, Supplier)} creates a new one.
+     */
+    public void evict(Class<? extends Screen> type) {
+        Screen screen = cache.remove(type);
+        if (screen != null && screen != current) {
+            screen.onHide();
+        }
+    }
+
+    public Screen getCurrent() {
+        return current;
+    }
+}
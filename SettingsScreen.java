@@ -15,9 +15,10 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
-public class SettingsScreen {
+public class SettingsScreen implements ScreenNavigator.Screen {
     private final Stage stage;
     private final GameState gameState;
+    private final ScreenNavigator navigator;
     private Scene scene;
     private Slider volumeSlider;
     private RadioButton windowedButton;
@@ -29,7 +30,10 @@ public class SettingsScreen {
     public SettingsScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("Settings");
         createScene();
+        event.commit();
     }
 
     private void createScene() {
@@ -60,10 +64,8 @@ public class SettingsScreen {
 
         Button backButton = createStyledButton("Back to Main Menu");
         backButton.setStyle(backButton.getStyle().replace("#4CAF50", "#8B4513"));
-        backButton.setOnAction(e -> {
-            MainMenuScreen mainMenu = new MainMenuScreen(stage, gameState);
-            mainMenu.show();
-        });
+        backButton.setOnAction(e ->
+            navigator.show(MainMenuScreen.class, () -> new MainMenuScreen(stage, gameState)));
 
         buttonBox.getChildren().addAll(saveButton, backButton);
 
@@ -75,7 +77,6 @@ public class SettingsScreen {
         );
 
         scene = new Scene(root, 800, 600);
-        stage.setScene(scene);
     }
 
     private VBox createVolumeSettings() {
@@ -220,7 +221,27 @@ public class SettingsScreen {
     }
 
     public void show() {
-        stage.setScene(scene);
-        stage.setTitle("Settings");
+        navigator.show(SettingsScreen.class, () -> this);
+    }
+
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Settings";
+    }
+
+    @Override
+    public void onShow() {
+        // Show the saved settings, not whatever was left unsaved last time
+        volumeSlider.setValue(gameState.getMasterVolume());
+        if (stage.isFullScreen()) {
+            fullscreenButton.setSelected(true);
+        } else {
+            windowedButton.setSelected(true);
+        }
     }
 } 
\ No newline at end of file
@@ -1,68 +1,104 @@
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
-import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory.IntegerSpinnerValueFactory;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.Priority;
 
 /**
  * The ShopScreen class represents the shop interface where players can purchase items
- * using the in-game currency (dabloons).
+ * using the in-game currency (dabloons). Players fill a cart and buy it all at once.
  */
-public class ShopScreen {
+public class ShopScreen implements ScreenNavigator.Screen {
+    private static final String CARD_STYLE = "-fx-background-color: #E6E6FA; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 5px;";
+    private static final String CARD_HOVER_STYLE = "-fx-background-color: #DEDEFF; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 5px;";
+    
     private Stage stage;
     private GameState gameState;
+    private ScreenNavigator navigator;
+    private BorderPane root;
     private Scene scene;
+    private final ToastQueue toasts = new ToastQueue();
+    
+    // What the player has, copied from the game state by refresh() whenever
+    // the game changes while the shop is open, e.g. through the pet server.
+    // The item cards and the cart are bound to these, so they update in place.
+    private final StringProperty petName = new SimpleStringProperty();
+    private final IntegerProperty currency = new SimpleIntegerProperty();
+    private final IntegerProperty[] itemCounts = new IntegerProperty[ItemCatalog.size()];
     
-    private java.util.Map<String, Integer> itemPrices = new java.util.HashMap<>();
+    // How many of each item are in the cart, indexed by item ordinal
+    private final IntegerSpinnerValueFactory[] cart = new IntegerSpinnerValueFactory[ItemCatalog.size()];
+    private final IntegerProperty cartItems = new SimpleIntegerProperty();
+    private final LongProperty cartCost = new SimpleLongProperty();
+    
+    // Game changes can come from other threads; the properties are only touched on the FX thread
+    private final Runnable onGameChanged = () -> {
+        if (Platform.isFxApplicationThread()) {
+            refresh();
+        } else {
+            Platform.runLater(this::refresh);
+        }
+    };
     
     public ShopScreen(Stage stage, GameState gameState) {
         this.stage = stage;
         this.gameState = gameState;
+        this.navigator = ScreenNavigator.forStage(stage);
         
-        setupPrices();
+        for (int i = 0; i < itemCounts.length; i++) {
+            itemCounts[i] = new SimpleIntegerProperty();
+        }
+        
+        GameEvents.SceneBuild event = new GameEvents.SceneBuild("Shop");
         createScene();
-    }
-    
-    private void setupPrices() {
-        // Food prices
-        itemPrices.put("Kibble", 10);
-        itemPrices.put("Treats", 20);
-        itemPrices.put("Premium Food", 35);
-        
-        // Special items
-        itemPrices.put("Vaccine", 100);
+        event.commit();
     }
     
     private void createScene() {
-        BorderPane root = new BorderPane();
+        root = new BorderPane();
         root.setStyle("-fx-background-color: #F5F5DC;");
         
-        // Top - Title and currency
-        HBox topBar = createTopBar();
-        root.setTop(topBar);
-        
-        // Center - Shop items
-        ScrollPane shopContent = createShopContent();
-        root.setCenter(shopContent);
-        
-        // Bottom - Back button
-        HBox bottomBar = createBottomBar();
-        root.setBottom(bottomBar);
+        // The shop is built once; only bound values change after that
+        root.setTop(createTopBar());
+        root.setCenter(createShopContent());
+        root.setBottom(createBottomBar());
         
-        scene = new Scene(root, 700, 550);
-        stage.setScene(scene);
+        // Messages float over the screen instead of opening dialogs
+        scene = new Scene(new StackPane(root, toasts.getView()), 700, 550);
+    }
+    
+    /**
+     * Copies the player's currency and inventory into the properties the shop is bound to.
+     */
+    private void refresh() {
+        petName.set(gameState.getPet().getName());
+        currency.set(gameState.getCurrency());
+        for (int i = 0; i < itemCounts.length; i++) {
+            itemCounts[i].set(gameState.getItemCount(i));
+        }
     }
     
     private HBox createTopBar() {
@@ -76,11 +112,13 @@ public class ShopScreen {
         shopTitle.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         
         // Pet name display
-        Text petNameText = new Text(gameState.getPet().getName() + "'s Shop");
+        Text petNameText = new Text();
+        petNameText.textProperty().bind(petName.concat("'s Shop"));
         petNameText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         
         // Currency display
-        Text currencyText = new Text("Dabloons: " + gameState.getCurrency());
+        Text currencyText = new Text();
+        currencyText.textProperty().bind(Bindings.concat("Dabloons: ", currency));
         currencyText.setFont(Font.font("Arial", 18));
         
         // Add spacer to push currency to the right
@@ -105,11 +143,9 @@ public class ShopScreen {
         foodItems.setAlignment(Pos.CENTER);
         
         // Add food items
-        foodItems.getChildren().addAll(
-            createShopItemCompact("Kibble", "Basic food (+10 Fullness)", itemPrices.get("Kibble")),
-            createShopItemCompact("Treats", "Special treats (+15 Fullness, +5 Happiness)", itemPrices.get("Treats")),
-            createShopItemCompact("Premium Food", "High quality food (+25 Fullness, +10 Happiness)", itemPrices.get("Premium Food"))
-        );
+        for (ItemCatalog.Item item : ItemCatalog.inCategory(ItemCatalog.Category.FOOD)) {
+            foodItems.getChildren().add(createShopItemCompact(item));
+        }
         
         // Special items section
         Text specialSectionTitle = new Text("Special Items");
@@ -120,9 +156,9 @@ public class ShopScreen {
         specialItems.setAlignment(Pos.CENTER);
         
         // Add special items
-        specialItems.getChildren().add(
-            createShopItemCompact("Vaccine", "Increases your pet's maximum health permanently (+20 Max Health)", itemPrices.get("Vaccine"))
-        );
+        for (ItemCatalog.Item item : ItemCatalog.inCategory(ItemCatalog.Category.SPECIAL)) {
+            specialItems.getChildren().add(createShopItemCompact(item));
+        }
         
         content.getChildren().addAll(
             foodSectionTitle, foodItems,
@@ -137,79 +173,109 @@ public class ShopScreen {
         return scrollPane;
     }
     
-    private VBox createShopItemCompact(String itemName, String description, int price) {
+    private VBox createShopItemCompact(ItemCatalog.Item item) {
         VBox itemBox = new VBox(5);
         itemBox.setPadding(new Insets(10));
-        itemBox.setStyle("-fx-background-color: #E6E6FA; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 5px;");
+        itemBox.setStyle(CARD_STYLE);
         itemBox.setPrefWidth(180);
         itemBox.setMaxWidth(180);
         itemBox.setMinHeight(180);
         itemBox.setAlignment(Pos.CENTER);
         
-        Text nameText = new Text(itemName);
+        Text nameText = new Text(item.name());
         nameText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         
-        Text descText = new Text(description);
+        Text descText = new Text(item.description());
         descText.setWrappingWidth(160);
         descText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
         
-        Text priceText = new Text(price + " Dabloons");
+        Text priceText = new Text(item.price() + " Dabloons");
         priceText.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         priceText.setFill(Color.DARKBLUE);
         
-        // Current inventory count
-        int currentCount = gameState.getItemCount(itemName);
-        Text countText = new Text("In Inventory: " + currentCount);
+        // Current inventory count, marked when the player can't carry any more
+        IntegerProperty count = itemCounts[item.ordinal()];
+        BooleanBinding full = count.greaterThanOrEqualTo(item.stackCap());
+        Text countText = new Text();
+        countText.textProperty().bind(Bindings.concat("In Inventory: ", count,
+            Bindings.when(full).then(" (MAX)").otherwise("")));
         
-        Button buyButton = createStyledButton("Buy");
-        buyButton.setPrefWidth(100);
+        // How many to buy; never more than the player has room for
+        IntegerSpinnerValueFactory quantity = new IntegerSpinnerValueFactory(0, item.stackCap());
+        quantity.maxProperty().bind(Bindings.max(0, count.negate().add(item.stackCap())));
+        quantity.valueProperty().addListener((obs, oldVal, newVal) -> updateCart());
+        cart[item.ordinal()] = quantity;
         
-        // Disable button if at max capacity (3 for food items)
-        if (currentCount >= 3 && !itemName.equals("Vaccine")) {
-            buyButton.setDisable(true);
-            countText.setText("In Inventory: " + currentCount + " (MAX)");
-        }
+        Spinner<Integer> quantitySpinner = new Spinner<>(quantity);
+        quantitySpinner.setPrefWidth(80);
+        quantitySpinner.disableProperty().bind(full);
         
-        buyButton.setOnAction(e -> purchaseItem(itemName, price));
+        HBox quantityBox = new HBox(8, new Text("Buy:"), quantitySpinner);
+        quantityBox.setAlignment(Pos.CENTER);
         
-        itemBox.getChildren().addAll(nameText, descText, priceText, countText, buyButton);
+        itemBox.getChildren().addAll(nameText, descText, priceText, countText, quantityBox);
         
         // Hover effect
         itemBox.setOnMouseEntered(e -> {
-            if (!buyButton.isDisabled()) {
-                itemBox.setStyle("-fx-background-color: #DEDEFF; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 5px;");
+            if (!full.get()) {
+                itemBox.setStyle(CARD_HOVER_STYLE);
             }
         });
         
-        itemBox.setOnMouseExited(e -> {
-            itemBox.setStyle("-fx-background-color: #E6E6FA; -fx-border-color: #8B4513; -fx-border-width: 2px; -fx-border-radius: 5px;");
-        });
+        itemBox.setOnMouseExited(e -> itemBox.setStyle(CARD_STYLE));
         
         return itemBox;
     }
     
-    private void purchaseItem(String itemName, int price) {
-        // Check if player has enough currency
-        if (gameState.getCurrency() < price) {
-            showAlert("Not Enough Dabloons", "You don't have enough dabloons to purchase this item!");
-            return;
+    /**
+     * Recounts the cart's items and total cost.
+     */
+    private void updateCart() {
+        int items = 0;
+        long cost = 0;
+        for (int i = 0; i < cart.length; i++) {
+            if (cart[i] != null) {
+                items += cart[i].getValue();
+                cost += (long) cart[i].getValue() * ItemCatalog.get(i).price();
+            }
         }
-        
-        // Check if inventory has space (max 3 for food items)
-        if (gameState.getItemCount(itemName) >= 3 && !itemName.equals("Vaccine")) {
-            showAlert("Inventory Full", "You can't carry more than 3 of this item!");
-            return;
+        cartItems.set(items);
+        cartCost.set(cost);
+    }
+    
+    private void clearCart() {
+        for (IntegerSpinnerValueFactory quantity : cart) {
+            quantity.setValue(0);
+        }
+    }
+    
+    private void checkout() {
+        int[] quantities = new int[cart.length];
+        StringBuilder bought = new StringBuilder();
+        for (int i = 0; i < cart.length; i++) {
+            quantities[i] = cart[i].getValue();
+            if (quantities[i] > 0) {
+                bought.append(bought.length() > 0 ? ", " : "").append(quantities[i]).append(' ').append(ItemCatalog.get(i).name());
+            }
         }
         
-        // Deduct currency and add item
-        gameState.addCurrency(-price);
-        gameState.addItem(itemName, 1);
-        
-        // Show success message
-        showAlert("Purchase Successful", "You purchased " + itemName + "!");
+        // The whole cart is bought in one go, or none of it
+        switch (gameState.purchase(quantities)) {
+            case NOT_ENOUGH_CURRENCY -> {
+                toasts.show("Not Enough Dabloons", "You don't have enough dabloons to purchase everything in your cart!");
+                return;
+            }
+            case INVENTORY_FULL -> {
+                toasts.show("Inventory Full", "You can't carry that many of these items!");
+                refresh();
+                return;
+            }
+            case OK -> { }
+        }
         
-        // Update the display
-        createScene();
+        // Show success message; the purchase itself already refreshed the display
+        toasts.show("Purchase Successful", "You purchased " + bought + "!");
+        clearCart();
     }
     
     private HBox createBottomBar() {
@@ -219,13 +285,28 @@ public class ShopScreen {
         bottomBar.setStyle("-fx-background-color: #D2B48C;");
         
         Button backButton = createStyledButton("Back to Game");
-        backButton.setOnAction(e -> {
-            // Return to game screen - this should only be accessible from game screen
-            GameScreen gameScreen = new GameScreen(stage, gameState);
-            gameScreen.show();
-        });
+        // Return to the game screen this shop was opened from
+        backButton.setOnAction(e -> navigator.show(GameScreen.class, () -> new GameScreen(stage, gameState)));
+        
+        // Cart total, in red when the player can't afford it
+        Text cartText = new Text();
+        cartText.textProperty().bind(Bindings.concat("Cart: ", cartItems, " items, ", cartCost, " Dabloons"));
+        cartText.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        cartText.fillProperty().bind(Bindings.when(cartCost.greaterThan(currency))
+            .<Paint>then(Color.DARKRED).otherwise(Color.BLACK));
+        
+        Button clearButton = createStyledButton("Clear");
+        clearButton.setOnAction(e -> clearCart());
+        clearButton.disableProperty().bind(cartItems.isEqualTo(0));
         
-        bottomBar.getChildren().add(backButton);
+        Button buyButton = createStyledButton("Buy");
+        buyButton.setOnAction(e -> checkout());
+        buyButton.disableProperty().bind(cartItems.isEqualTo(0));
+        
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        
+        bottomBar.getChildren().addAll(backButton, spacer, cartText, clearButton, buyButton);
         return bottomBar;
     }
     
@@ -262,16 +343,31 @@ public class ShopScreen {
         return button;
     }
     
-    private void showAlert(String title, String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle(title);
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
-    }
-    
     public void show() {
-        stage.setTitle("Pet Shop");
+        navigator.show(ShopScreen.class, () -> this);
         stage.show();
     }
+    
+    @Override
+    public Scene getScene() {
+        return scene;
+    }
+    
+    @Override
+    public String getTitle() {
+        return "Pet Shop";
+    }
+    
+    @Override
+    public void onShow() {
+        // Currency, inventory or even the pet may have changed since the shop was last open
+        clearCart();
+        refresh();
+        gameState.addListener(onGameChanged);
+    }
+    
+    @Override
+    public void onHide() {
+        gameState.removeListener(onGameChanged);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,148 @@
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javafx.scene.image.Image;
+
+/**
+ * Shared cache of pet sprites, keyed by species and mood.
+ * Sprites are decoded lazily on JavaFX's background loader the first time
+ * they are asked for, at most once while they stay cached. The least
+ * recently used sprites are evicted once the cache goes over its memory cap.
+ */
+public class SpriteCache {
+    // Decoded sprites are ARGB, so 4 bytes per pixel
+    private static final int BYTES_PER_PIXEL = 4;
+
+    // Budget used for a sprite whose size isn't known yet (still decoding)
+    private static final long PENDING_SPRITE_BYTES = 256L * 256L * BYTES_PER_PIXEL;
+
+    private static final Map<Key, Image> sprites = new LinkedHashMap<>(16, 0.75f, true);
+    private static long maxBytes = 32L * 1024 * 1024;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private record Key(String species, Pet.Mood mood) {}
+
+    private SpriteCache() {
+    }
+
+    /**
+     * Returns the sprite for a pet type and mood, starting a background decode on first use.
+     * @param petType The pet type, e.g. "DOG", "Cat" or "BUNNY"
+     * @param mood The mood to show
+     */
+    public static Image get(String petType, Pet.Mood mood) {
+        Key key = new Key(spritePrefix(petType), mood);
+        synchronized (sprites) {
+            Image sprite = sprites.get(key);
+            if (sprite != null) {
+                hits.increment();
+                return sprite;
+            }
+
+            misses.increment();
+            sprite = load(key);
+            sprites.put(key, sprite);
+            evictIfNeeded();
+            return sprite;
+        }
+    }
+
+    private static Image load(Key key) {
+        String path = "images/" + key.species() + "_" + key.mood() + ".png";
+        long start = System.nanoTime();
+        Image sprite = new Image(new File(path).toURI().toString(), true);
+        // Decoding finishes on the loader thread, possibly before the listeners
+        // are attached, so check once more afterwards; it is reported only once
+        AtomicBoolean reported = new AtomicBoolean();
+        Runnable finished = () -> {
+            boolean done = sprite.isError() || sprite.getProgress() >= 1.0;
+            if (done && reported.compareAndSet(false, true)) {
+                reportDecode(key, path, sprite, System.nanoTime() - start);
+            }
+        };
+        sprite.progressProperty().addListener((obs, oldVal, progress) -> finished.run());
+        sprite.errorProperty().addListener((obs, oldVal, failed) -> finished.run());
+        finished.run();
+        return sprite;
+    }
+
+    /**
+     * Records a finished decode: its time, and a Flight Recorder event begun
+     * and committed here with the time measured since the request.
+     */
+    private static void reportDecode(Key key, String path, Image sprite, long nanos) {
+        GameEvents.SpriteDecode event = new GameEvents.SpriteDecode(key.species(), key.mood().name());
+        event.decodeTime = nanos;
+        if (sprite.isError()) {
+            System.err.println("Failed to load sprite: " + path);
+            event.failed = true;
+        } else {
+            Metrics.SPRITE_DECODE_TIME.record(nanos);
+            event.width = (int) sprite.getWidth();
+            event.height = (int) sprite.getHeight();
+            event.bytes = estimateBytes(sprite);
+        }
+        event.commit();
+    }
+
+    private static void evictIfNeeded() {
+        long total = 0;
+        for (Image sprite : sprites.values()) {
+            total += estimateBytes(sprite);
+        }
+
+        // Access order puts the least recently used sprite first; always keep the newest
+        Iterator<Image> it = sprites.values().iterator();
+        while (total > maxBytes && sprites.size() > 1 && it.hasNext()) {
+            total -= estimateBytes(it.next());
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static long estimateBytes(Image sprite) {
+        if (sprite.getProgress() < 1.0 || sprite.getWidth() <= 0) {
+            return PENDING_SPRITE_BYTES;
+        }
+        return (long) sprite.getWidth() * (long) sprite.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Maps a pet type to the prefix its sprite files use.
+     */
+    public static String spritePrefix(String petType) {
+        String prefix = petType.toUpperCase();
+        return prefix.equals("CAT") ? "KITTY" : prefix;
+    }
+
+    public static void setMaxBytes(long bytes) {
+        synchronized (sprites) {
+            maxBytes = bytes;
+            evictIfNeeded();
+        }
+    }
+
+    public static void clear() {
+        synchronized (sprites) {
+            sprites.clear();
+        }
+    }
+
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    public static long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.util.Duration;
+
+/**
+ * Short messages shown on top of a screen for a few seconds, e.g. "Playing!
+ * Earned 7 dabloons". Unlike an alert they don't block: the action that shows
+ * one finishes right away and the game keeps running.
+ *
+ * <p>A message with the same title as one still on screen or waiting replaces
+ * it and counts up ("Playing! (x3)") instead of stacking, and only a few are
+ * shown at once; the rest wait their turn, and the oldest waiting ones are
+ * dropped if messages arrive faster than they can be read.
+ *
+ * <p>Add {@link #getView()} on top of the screen's content, e.g. in a StackPane.
+ * Must be used on the JavaFX application thread.
+ */
+public class ToastQueue {
+    private static final int MAX_VISIBLE = 3;
+    private static final int MAX_WAITING = 8;
+    private static final Duration SHOW_TIME = Duration.seconds(2.5);
+    private static final Duration FADE_TIME = Duration.millis(300);
+
+    private final VBox view = new VBox(8);
+    private final List<Toast> visible = new ArrayList<>();
+    private final Deque<Toast> waiting = new ArrayDeque<>();
+
+    private static final class Toast {
+        final String title;
+        String message;
+        int count = 1;
+        VBox box;
+        Text titleText;
+        Text messageText;
+        PauseTransition timer;
+
+        Toast(String title, String message) {
+            this.title = title;
+            this.message = message;
+        }
+
+        void update() {
+            titleText.setText(count > 1 ? title + " (x" + count + ")" : title);
+            messageText.setText(message);
+        }
+    }
+
+    public ToastQueue() {
+        view.setAlignment(Pos.BOTTOM_CENTER);
+        // Clear of the screen's bottom button bar
+        view.setPadding(new Insets(0, 0, 80, 0));
+        // Clicks go through to the screen underneath
+        view.setMouseTransparent(true);
+        view.setPickOnBounds(false);
+    }
+
+    /**
+     * The layer the messages are shown in.
+     */
+    public VBox getView() {
+        return view;
+    }
+
+    /**
+     * Shows a message, merging it into one with the same title if there is one.
+     */
+    public void show(String title, String message) {
+        for (Toast toast : visible) {
+            if (toast.title.equals(title)) {
+                toast.count++;
+                toast.message = message;
+                toast.update();
+                toast.timer.playFromStart();
+                return;
+            }
+        }
+        for (Toast toast : waiting) {
+            if (toast.title.equals(title)) {
+                toast.count++;
+                toast.message = message;
+                return;
+            }
+        }
+
+        Toast toast = new Toast(title, message);
+        if (visible.size() < MAX_VISIBLE) {
+            display(toast);
+        } else {
+            if (waiting.size() >= MAX_WAITING) {
+                waiting.removeFirst();
+            }
+            waiting.addLast(toast);
+        }
+    }
+
+    private void display(Toast toast) {
+        toast.titleText = new Text();
+        toast.titleText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        toast.titleText.setStyle("-fx-fill: white;");
+
+        toast.messageText = new Text();
+        toast.messageText.setFont(Font.font("Arial", 14));
+        toast.messageText.setStyle("-fx-fill: white;");
+        toast.messageText.setWrappingWidth(320);
+
+        toast.box = new VBox(4, toast.titleText, toast.messageText);
+        toast.box.setPadding(new Insets(10, 16, 10, 16));
+        toast.box.setMaxWidth(360);
+        toast.box.setStyle("-fx-background-color: rgba(60, 60, 60, 0.9); -fx-background-radius: 8;");
+        toast.update();
+
+        toast.timer = new PauseTransition(SHOW_TIME);
+        toast.timer.setOnFinished(e -> dismiss(toast));
+
+        visible.add(toast);
+        view.getChildren().add(toast.box);
+        toast.timer.play();
+    }
+
+    private void dismiss(Toast toast) {
+        // Make room right away; the fading toast no longer takes merges
+        visible.remove(toast);
+        Toast next = waiting.pollFirst();
+        if (next != null) {
+            display(next);
+        }
+
+        FadeTransition fade = new FadeTransition(FADE_TIME, toast.box);
+        fade.setToValue(0);
+        fade.setOnFinished(e -> view.getChildren().remove(toast.box));
+        fade.play();
+    }
+}
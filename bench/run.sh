@@ -0,0 +1,49 @@
+#!/bin/bash
+
+# JMH benchmarks for the game's model and persistence code.
+# Usage: bench/run.sh [JMH options], e.g. bench/run.sh PetBenchmark -f 1
+# Results are written to bench/baselines/latest.json; copy them over
+# bench/baselines/baseline.json when a change should become the new baseline.
+
+# JMH jars: jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3
+JMH_PATH="${JMH_PATH:-$HOME/jmh}"
+
+# JavaFX path - the model uses javafx.base for its observable properties
+JAVAFX_PATH="${JAVAFX_PATH:-/Users/hamzakhamissa/Downloads/javafx-sdk-23.0.2}"
+
+if [ ! -d "$JMH_PATH" ]; then
+    echo "Error: JMH jars not found at $JMH_PATH"
+    echo "Download jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3"
+    echo "into one directory and point JMH_PATH at it"
+    exit 1
+fi
+
+if [ ! -d "$JAVAFX_PATH" ]; then
+    echo "Error: JavaFX SDK not found at $JAVAFX_PATH"
+    exit 1
+fi
+
+BENCH_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$BENCH_DIR")"
+TARGET="$BENCH_DIR/target"
+CLASSPATH="$TARGET/classes:$JMH_PATH/*:$JAVAFX_PATH/lib/*"
+
+rm -rf "$TARGET"
+mkdir -p "$TARGET/classes"
+
+# Compile the game's model (no screens) and then the benchmarks
+echo "Compiling..."
+cd "$ROOT_DIR"
+javac -cp "$JAVAFX_PATH/lib/*" -d "$TARGET/classes" \
+      Pet.java PetSimulation.java PetRandom.java GameState.java ItemCatalog.java ActionTable.java ActionJournal.java \
+      Metrics.java LatencyHistogram.java GameEvents.java \
+      SaveField.java SaveRecord.java SaveCodec.java BinarySave.java SaveService.java SpriteCache.java \
+    && javac -cp "$CLASSPATH" -processor org.openjdk.jmh.generators.BenchmarkProcessor \
+      -d "$TARGET/classes" "$BENCH_DIR"/src/bench/*.java
+
+if [ $? -eq 0 ]; then
+    echo "Running..."
+    java -cp "$CLASSPATH" org.openjdk.jmh.Main -rf json -rff "$BENCH_DIR/baselines/latest.json" "$@"
+else
+    echo "Compilation failed!"
+fi
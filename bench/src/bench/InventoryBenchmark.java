@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inventory operations and the shop's purchase logic (GameState.purchaseItem,
+ * which ShopScreen.purchaseItem calls).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+    private static final String[] ITEMS = {"Kibble", "Treats", "Premium Food", "Vaccine"};
+
+    private Object gameState;
+    private int round;
+
+    @Setup
+    public void setup() {
+        gameState = Model.newGame("Bench", "DOG");
+    }
+
+    @Benchmark
+    public boolean useAndAddItem() {
+        String item = ITEMS[++round & 3];
+        boolean used = Model.useItem(gameState, item);
+        Model.addItem(gameState, item, 1);
+        return used;
+    }
+
+    @Benchmark
+    public Object purchaseItem() {
+        String item = ITEMS[++round & 3];
+        int price = Model.getItemPrice(item);
+        // Keep the player able to afford things and the inventory below its cap
+        Model.addCurrency(gameState, price);
+        Object result = Model.purchaseItem(gameState, item);
+        Model.useItem(gameState, item);
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Typed access to the game's model classes for the benchmarks.
+ *
+ * <p>The game lives in the default package, which classes in a named package
+ * can't refer to, and JMH refuses benchmarks in the default package. So the
+ * benchmarks go through these method handles instead. They are static final
+ * constants, so the JIT inlines straight through them and the calls cost the
+ * same as direct ones.
+ */
+final class Model {
+    private static final MethodHandle NEW_PET;
+    private static final MethodHandle PET_UPDATE;
+    private static final MethodHandle PET_SET_HEALTH;
+    private static final MethodHandle PET_SET_HAPPINESS;
+    private static final MethodHandle PET_SET_FULLNESS;
+    private static final MethodHandle PET_SET_ENERGY;
+    private static final MethodHandle PET_GET_HEALTH;
+
+    private static final MethodHandle NEW_GAME_STATE;
+    private static final MethodHandle START_NEW_GAME;
+    private static final MethodHandle SAVE_TO_FILE;
+    private static final MethodHandle LOAD_FROM_FILE;
+    private static final MethodHandle USE_ITEM;
+    private static final MethodHandle ADD_ITEM;
+    private static final MethodHandle ADD_CURRENCY;
+    private static final MethodHandle PURCHASE_ITEM;
+    private static final MethodHandle GET_ITEM_PRICE;
+
+    private static final MethodHandle READ_SAVE;
+    private static final MethodHandle READ_TEXT_SAVE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> pet = Class.forName("Pet");
+            Class<?> gameState = Class.forName("GameState");
+            Class<?> saveCodec = Class.forName("SaveCodec");
+            Class<?> saveRecord = Class.forName("SaveRecord");
+            Class<?> purchaseResult = Class.forName("GameState$PurchaseResult");
+
+            NEW_PET = generic(lookup.findConstructor(pet, MethodType.methodType(void.class, String.class, String.class)));
+            PET_UPDATE = generic(lookup.findVirtual(pet, "update", MethodType.methodType(void.class)));
+            PET_SET_HEALTH = generic(lookup.findVirtual(pet, "setHealth", MethodType.methodType(void.class, int.class)));
+            PET_SET_HAPPINESS = generic(lookup.findVirtual(pet, "setHappiness", MethodType.methodType(void.class, int.class)));
+            PET_SET_FULLNESS = generic(lookup.findVirtual(pet, "setFullness", MethodType.methodType(void.class, int.class)));
+            PET_SET_ENERGY = generic(lookup.findVirtual(pet, "setEnergy", MethodType.methodType(void.class, int.class)));
+            PET_GET_HEALTH = generic(lookup.findVirtual(pet, "getHealth", MethodType.methodType(int.class)));
+
+            NEW_GAME_STATE = generic(lookup.findConstructor(gameState, MethodType.methodType(void.class)));
+            START_NEW_GAME = generic(lookup.findVirtual(gameState, "startNewGame", MethodType.methodType(void.class, String.class, pet)));
+            SAVE_TO_FILE = generic(lookup.findVirtual(gameState, "saveToFile", MethodType.methodType(void.class, String.class)));
+            LOAD_FROM_FILE = generic(lookup.findVirtual(gameState, "loadFromFile", MethodType.methodType(void.class, String.class)));
+            USE_ITEM = generic(lookup.findVirtual(gameState, "useItem", MethodType.methodType(boolean.class, String.class)));
+            ADD_ITEM = generic(lookup.findVirtual(gameState, "addItem", MethodType.methodType(void.class, String.class, int.class)));
+            ADD_CURRENCY = generic(lookup.findVirtual(gameState, "addCurrency", MethodType.methodType(void.class, int.class)));
+            PURCHASE_ITEM = generic(lookup.findVirtual(gameState, "purchaseItem", MethodType.methodType(purchaseResult, String.class)));
+            GET_ITEM_PRICE = lookup.findStatic(gameState, "getItemPrice", MethodType.methodType(int.class, String.class));
+
+            READ_SAVE = generic(lookup.findStatic(saveCodec, "read", MethodType.methodType(saveRecord, java.nio.file.Path.class)));
+            READ_TEXT_SAVE = generic(lookup.findStatic(saveCodec, "readText", MethodType.methodType(saveRecord, String.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Model() {
+    }
+
+    // Erases the game's own types to Object so the handles can be called with invokeExact
+    private static MethodHandle generic(MethodHandle handle) {
+        MethodType type = handle.type();
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (!type.parameterType(i).isPrimitive() && type.parameterType(i) != String.class
+                    && type.parameterType(i) != java.nio.file.Path.class) {
+                type = type.changeParameterType(i, Object.class);
+            }
+        }
+        if (!type.returnType().isPrimitive()) {
+            type = type.changeReturnType(Object.class);
+        }
+        return handle.asType(type);
+    }
+
+    static Object newPet(String name, String type) {
+        try {
+            return (Object) NEW_PET.invokeExact(name, type);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void update(Object pet) {
+        try {
+            PET_UPDATE.invokeExact(pet);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void setStats(Object pet, int health, int happiness, int fullness, int energy) {
+        try {
+            PET_SET_HEALTH.invokeExact(pet, health);
+            PET_SET_HAPPINESS.invokeExact(pet, happiness);
+            PET_SET_FULLNESS.invokeExact(pet, fullness);
+            PET_SET_ENERGY.invokeExact(pet, energy);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static int getHealth(Object pet) {
+        try {
+            return (int) PET_GET_HEALTH.invokeExact(pet);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Creates a game state with a new pet, as the new game screen does.
+     */
+    static Object newGame(String name, String type) {
+        try {
+            Object gameState = (Object) NEW_GAME_STATE.invokeExact();
+            START_NEW_GAME.invokeExact(gameState, name, newPet(name, type));
+            return gameState;
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void saveToFile(Object gameState, String fileName) {
+        try {
+            SAVE_TO_FILE.invokeExact(gameState, fileName);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void loadFromFile(Object gameState, String fileName) {
+        try {
+            LOAD_FROM_FILE.invokeExact(gameState, fileName);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static boolean useItem(Object gameState, String item) {
+        try {
+            return (boolean) USE_ITEM.invokeExact(gameState, item);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void addItem(Object gameState, String item, int amount) {
+        try {
+            ADD_ITEM.invokeExact(gameState, item, amount);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static void addCurrency(Object gameState, int amount) {
+        try {
+            ADD_CURRENCY.invokeExact(gameState, amount);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static Object purchaseItem(Object gameState, String item) {
+        try {
+            return (Object) PURCHASE_ITEM.invokeExact(gameState, item);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static int getItemPrice(String item) {
+        try {
+            return (int) GET_ITEM_PRICE.invokeExact(item);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static Object readSave(java.nio.file.Path path) {
+        try {
+            return (Object) READ_SAVE.invokeExact(path);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    static Object readTextSave(String text) {
+        try {
+            return (Object) READ_TEXT_SAVE.invokeExact(text);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(e);
+    }
+}
@@ -0,0 +1,81 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Saving and loading: the full save/load round trip through GameState, and
+ * parsing a save the way the load screen does, for both formats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    // An old-style text save, as written before the binary format
+    private static final String TEXT_SAVE = String.join("\n",
+            "name=Biscuit", "type=DOG", "health=87", "maxHealth=120", "happiness=64", "fullness=71",
+            "energy=58", "currency=245", "score=1310", "inventory.Kibble=3", "inventory.Treats=2",
+            "inventory.Premium Food=1", "inventory.Vaccine=0", "playerName=Biscuit",
+            "creationDate=2025-01-01T09:30:00", "parentalPassword=null", "dailyTimeLimit=120",
+            "allowedStartTime=08:00", "allowedEndTime=20:00", "totalPlayTime=5400000",
+            "totalFeedings=42", "totalPlaySessions=17", "totalVetVisits=2", "") + "\n";
+
+    private Path directory;
+    private String saveFile;
+    private Path binarySave;
+    private Object gameState;
+    private Object loadTarget;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("tamagotchi-bench");
+        saveFile = directory.resolve("bench_save.dat").toString();
+        gameState = Model.newGame("Biscuit", "DOG");
+        loadTarget = Model.newGame("Biscuit", "DOG");
+        Model.saveToFile(gameState, saveFile);
+        binarySave = Path.of(saveFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binarySave);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void saveToFile() {
+        Model.saveToFile(gameState, saveFile);
+    }
+
+    @Benchmark
+    public Object loadFromFile() {
+        Model.loadFromFile(loadTarget, saveFile);
+        return loadTarget;
+    }
+
+    @Benchmark
+    public Object parseBinarySave() {
+        return Model.readSave(binarySave);
+    }
+
+    @Benchmark
+    public Object parseTextSave() {
+        return Model.readTextSave(TEXT_SAVE);
+    }
+}
@@ -0,0 +1,50 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The pet model: one simulation tick, and the setter chain where every
+ * setter re-derives the pet's mood.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetBenchmark {
+    private Object pet;
+    private int round;
+
+    @Setup
+    public void setup() {
+        pet = Model.newPet("Bench", "DOG");
+    }
+
+    @Benchmark
+    public int update() {
+        // Top the pet up now and then so ticks don't just hit the floor at zero
+        if ((++round & 63) == 0) {
+            Model.setStats(pet, 100, 100, 100, 100);
+        }
+        Model.update(pet);
+        return Model.getHealth(pet);
+    }
+
+    @Benchmark
+    public int setStats() {
+        int value = 40 + (++round & 31);
+        Model.setStats(pet, value, value, value, value);
+        return Model.getHealth(pet);
+    }
+}
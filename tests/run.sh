@@ -0,0 +1,53 @@
+#!/bin/bash
+
+# Self-checking tests for the game's model and persistence code.
+# Usage: tests/run.sh [TestClass ...], e.g. tests/run.sh SaveCodecTest
+# With no arguments every *Test class in tests/src is run. Exits non-zero
+# if any of them fails.
+
+# JavaFX path - the model uses javafx.base for its observable properties
+JAVAFX_PATH="${JAVAFX_PATH:-/Users/hamzakhamissa/Downloads/javafx-sdk-23.0.2}"
+
+if [ ! -d "$JAVAFX_PATH" ]; then
+    echo "Error: JavaFX SDK not found at $JAVAFX_PATH"
+    exit 1
+fi
+
+TESTS_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$TESTS_DIR")"
+TARGET="$TESTS_DIR/target"
+CLASSPATH="$TARGET/classes:$JAVAFX_PATH/lib/*"
+
+rm -rf "$TARGET"
+mkdir -p "$TARGET/classes"
+
+# Compile the game's model (no screens) together with the tests
+echo "Compiling..."
+cd "$ROOT_DIR"
+javac -cp "$JAVAFX_PATH/lib/*" -d "$TARGET/classes" \
+      Pet.java PetSimulation.java PetRandom.java GameState.java ItemCatalog.java ActionTable.java ActionJournal.java \
+      Metrics.java LatencyHistogram.java GameEvents.java \
+      SaveField.java SaveRecord.java SaveCodec.java BinarySave.java SaveService.java SpriteCache.java \
+      "$TESTS_DIR"/src/*.java
+if [ $? -ne 0 ]; then
+    echo "Compilation failed!"
+    exit 1
+fi
+
+if [ $# -eq 0 ]; then
+    set -- $(cd "$TESTS_DIR/src" && ls *Test.java | sed 's/\.java$//')
+fi
+
+failed=0
+for test in "$@"; do
+    echo "Running $test..."
+    if ! java -cp "$CLASSPATH" "$test"; then
+        failed=1
+    fi
+done
+
+if [ $failed -ne 0 ]; then
+    echo "Tests failed!"
+    exit 1
+fi
+echo "All tests passed"
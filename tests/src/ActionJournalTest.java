@@ -0,0 +1,158 @@
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash recovery: actions journaled after the last save come back, however
+ * many times the game crashes before it saves again.
+ */
+public class ActionJournalTest {
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("tamagotchi-test");
+
+        Check.test("actions survive a crash", () -> {
+            Path slot = directory.resolve("crash_save.dat");
+            GameState game = newGame(slot);
+            game.purchaseItem("Vaccine");
+            crash(game);
+
+            GameState recovered = load(slot);
+            Check.equal(0, recovered.getCurrency(), "currency");
+            Check.equal(2, recovered.getItemCount("Vaccine"), "vaccines");
+        });
+
+        Check.test("replayed actions survive a second crash", () -> {
+            Path slot = directory.resolve("twice_save.dat");
+            GameState game = newGame(slot);
+            game.purchaseItem("Vaccine");
+            crash(game);
+
+            crash(load(slot));
+            GameState recovered = load(slot);
+            Check.equal(0, recovered.getCurrency(), "currency");
+            Check.equal(2, recovered.getItemCount("Vaccine"), "vaccines");
+        });
+
+        Check.test("actions after a recovery are journaled", () -> {
+            Path slot = directory.resolve("after_save.dat");
+            GameState game = newGame(slot);
+            game.purchaseItem("Vaccine");
+            crash(game);
+
+            GameState recovered = load(slot);
+            Check.that(recovered.playWithPet() >= 0, "should be able to play");
+            crash(recovered);
+
+            GameState again = load(slot);
+            Check.equal(2, again.getItemCount("Vaccine"), "vaccines");
+            Check.equal(recovered.getCurrency(), again.getCurrency(), "currency");
+            Check.equal(recovered.getTotalPlaySessions(), again.getTotalPlaySessions(), "play sessions");
+        });
+
+        Check.test("torn record is cut off before appending", () -> {
+            Path slot = directory.resolve("torn_save.dat");
+            GameState game = newGame(slot);
+            Check.that(game.playWithPet() >= 0, "should be able to play");
+            crash(game);
+            Files.write(directory.resolve("torn_save.journal"), new byte[] {6, 3, 0},
+                    StandardOpenOption.APPEND);
+
+            GameState recovered = load(slot);
+            Check.equal(GameState.PurchaseResult.OK, recovered.purchaseItem("Vaccine"), "purchase");
+            crash(recovered);
+
+            GameState again = load(slot);
+            Check.equal(2, again.getItemCount("Vaccine"), "vaccines");
+            Check.equal(recovered.getCurrency(), again.getCurrency(), "currency");
+        });
+
+        Check.test("checkpoint after a recovery", () -> {
+            Path slot = directory.resolve("checkpoint_save.dat");
+            GameState game = newGame(slot);
+            game.purchaseItem("Vaccine");
+            crash(game);
+
+            // Money given outside the journal is only kept by the checkpoint that follows
+            GameState recovered = load(slot);
+            recovered.addCurrency(100);
+            recovered.checkpoint(slot).get();
+            recovered.purchaseItem("Vaccine");
+            recovered.addCurrency(100);
+            recovered.checkpoint(slot).get();
+            recovered.purchaseItem("Vaccine");
+            crash(recovered);
+
+            GameState again = load(slot);
+            Check.equal(4, again.getItemCount("Vaccine"), "vaccines");
+            Check.equal(recovered.getCurrency(), again.getCurrency(), "currency");
+        });
+
+        Check.test("failed rotation keeps journaling", () -> {
+            Path slot = directory.resolve("stuck_save.dat");
+            GameState game = newGame(slot);
+            // A directory in the way makes opening the replacement journal fail
+            Files.createDirectory(directory.resolve("stuck_save.journal.new"));
+            game.checkpoint(slot).get();
+            game.purchaseItem("Vaccine");
+            crash(game);
+
+            GameState recovered = load(slot);
+            Check.equal(2, recovered.getItemCount("Vaccine"), "vaccines");
+            Check.equal(0, recovered.getCurrency(), "currency");
+        });
+
+        Check.test("cart purchases replay at the price paid", () -> {
+            Path slot = directory.resolve("cart_save.dat");
+            GameState game = new GameState();
+            game.startNewGame("Sam", new Pet("Rex", "DOG"));
+            game.addCurrency(100);
+            game.startJournal(slot);
+            game.checkpoint(slot).get();
+            int[] cart = new int[ItemCatalog.size()];
+            cart[ItemCatalog.ordinalOf("Vaccine")] = 2;
+            game.purchase(cart);
+            crash(game);
+
+            GameState recovered = load(slot);
+            Check.equal(0, recovered.getCurrency(), "currency");
+            Check.equal(3, recovered.getItemCount("Vaccine"), "vaccines");
+        });
+
+        Check.test("older multi-item purchase records still replay", () -> {
+            Path slot = directory.resolve("old_save.dat");
+            crash(newGame(slot));
+            ByteBuffer journal = ByteBuffer.allocate(18);
+            journal.putInt(0x544A4E4C).putLong(0);
+            journal.put(ActionJournal.PURCHASE_MANY).put((byte) ItemCatalog.ordinalOf("Vaccine")).putInt(1);
+            Files.write(directory.resolve("old_save.journal"), journal.array());
+
+            GameState recovered = load(slot);
+            Check.equal(0, recovered.getCurrency(), "currency");
+            Check.equal(2, recovered.getItemCount("Vaccine"), "vaccines");
+        });
+
+        Check.finish();
+    }
+
+    private static GameState newGame(Path slot) throws Exception {
+        GameState game = new GameState();
+        game.startNewGame("Sam", new Pet("Rex", "DOG"));
+        game.startJournal(slot);
+        game.checkpoint(slot).get();
+        return game;
+    }
+
+    private static GameState load(Path slot) throws Exception {
+        SaveRecord record = SaveCodec.read(slot);
+        GameState game = new GameState();
+        game.startNewGame(record.getString(SaveField.NAME), null);
+        game.restore(slot, record);
+        return game;
+    }
+
+    // Stops journaling without saving, as if the game died right after a group flush
+    private static void crash(GameState game) {
+        game.closeJournal();
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.Objects;
+
+/**
+ * A minimal test harness: each test is a named block run by {@link #test},
+ * and {@link #finish} reports the results and sets the exit status.
+ */
+public final class Check {
+    private static int passed = 0;
+    private static int failed = 0;
+
+    public interface Body {
+        void run() throws Exception;
+    }
+
+    private Check() {
+    }
+
+    /**
+     * Runs one test, printing its failure if it throws.
+     */
+    public static void test(String name, Body body) {
+        try {
+            body.run();
+            passed++;
+        } catch (Throwable e) {
+            failed++;
+            System.err.println("FAIL " + name + ": " + e);
+        }
+    }
+
+    public static void that(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void equal(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Checks that a block throws the given exception type.
+     */
+    public static void fails(Class<? extends Throwable> type, Body body, String what) {
+        try {
+            body.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return;
+            }
+            throw new AssertionError(what + ": expected " + type.getSimpleName() + " but got " + e);
+        }
+        throw new AssertionError(what + ": expected " + type.getSimpleName());
+    }
+
+    /**
+     * Prints the totals and exits non-zero if anything failed.
+     */
+    public static void finish() {
+        System.out.println(passed + " passed, " + failed + " failed");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.List;
+
+/**
+ * Batched actions: a whole batch is applied as one change, with or without a pet.
+ */
+public class GameStateBatchTest {
+    public static void main(String[] args) {
+        Check.test("empty batch changes nothing", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", new Pet("Biscuit", "dog"));
+            int[] notified = {0};
+            gameState.addListener(() -> notified[0]++);
+
+            int[] results = gameState.apply(List.of());
+            Check.equal(0, results.length, "results");
+            Check.equal(0, notified[0], "listener calls");
+            Check.equal(100, gameState.getCurrency(), "currency");
+        });
+
+        Check.test("batch without a pet", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", null);
+            int vaccine = ItemCatalog.ordinalOf("Vaccine");
+            int[] notified = {0};
+            gameState.addListener(() -> notified[0]++);
+
+            int[] results = gameState.apply(List.of(GameState.Action.buy(vaccine, 1)));
+            Check.equal(0, results[0], "purchase result");
+            Check.equal(1, notified[0], "listener calls");
+            Check.equal(100 - ItemCatalog.get(vaccine).price(), gameState.getCurrency(), "currency");
+            Check.equal(ItemCatalog.get(vaccine).startingCount() + 1, gameState.getItemCount(vaccine), "vaccines");
+
+            Check.equal(0, gameState.apply(List.of()).length, "empty batch results");
+        });
+
+        Check.test("cart purchase without a pet", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", null);
+            int[] cart = new int[ItemCatalog.size()];
+            cart[ItemCatalog.ordinalOf("Vaccine")] = 1;
+            Check.equal(GameState.PurchaseResult.OK, gameState.purchase(cart), "purchase");
+            Check.equal(2, gameState.getItemCount("Vaccine"), "vaccines");
+        });
+
+        Check.test("batch purchases cost the catalog price", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", new Pet("Biscuit", "dog"));
+            int vaccine = ItemCatalog.ordinalOf("Vaccine");
+
+            int[] results = gameState.apply(List.of(new GameState.Action(ActionJournal.PURCHASE, vaccine, 0)));
+            Check.equal(0, results[0], "purchase result");
+            Check.equal(100 - ItemCatalog.get(vaccine).price(), gameState.getCurrency(), "currency");
+
+            gameState.addCurrency(ItemCatalog.get(vaccine).price());
+            gameState.apply(List.of(new GameState.Action(ActionJournal.PURCHASE, vaccine, -500)));
+            Check.equal(100 - ItemCatalog.get(vaccine).price(), gameState.getCurrency(), "currency after a negative price");
+        });
+
+        Check.test("negative ticks are skipped", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", new Pet("Biscuit", "dog"));
+            int health = gameState.getPet().getHealth();
+
+            int[] results = gameState.apply(List.of(GameState.Action.tick(-1000)));
+            Check.equal(-1, results[0], "tick result");
+            Check.equal(health, gameState.getPet().getHealth(), "health");
+        });
+
+        Check.test("ticks without a pet are skipped", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", null);
+
+            int[] results = gameState.apply(List.of(GameState.Action.tick(5), GameState.Action.play()));
+            Check.equal(-1, results[0], "tick result");
+            Check.equal(-1, results[1], "play result");
+        });
+
+        Check.test("bad quantities are skipped without stopping the batch", () -> {
+            GameState gameState = new GameState();
+            gameState.startNewGame("Sam", null);
+            gameState.addCurrency(100);
+            int vaccine = ItemCatalog.ordinalOf("Vaccine");
+
+            int[] results = gameState.apply(List.of(
+                    GameState.Action.buy(vaccine, 1),
+                    GameState.Action.buy(vaccine, -3),
+                    GameState.Action.buy(vaccine, 0),
+                    new GameState.Action((byte) 99, -1, 0),
+                    GameState.Action.buy(vaccine, 1)));
+            Check.equal(0, results[0], "first purchase");
+            Check.equal(-1, results[1], "negative quantity");
+            Check.equal(-1, results[2], "zero quantity");
+            Check.equal(-1, results[3], "unknown action");
+            Check.equal(0, results[4], "last purchase");
+            Check.equal(3, gameState.getItemCount(vaccine), "vaccines");
+            Check.equal(0, gameState.getCurrency(), "currency");
+        });
+
+        Check.finish();
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Game state to save record and back.
+ */
+public class GameStateSaveTest {
+    public static void main(String[] args) {
+        Check.test("every catalog item's count is restored", () -> {
+            GameState saved = new GameState();
+            saved.startNewGame("Sam", new Pet("Biscuit", "dog"));
+            // Counts that differ from what a new game starts with
+            for (ItemCatalog.Item item : ItemCatalog.all()) {
+                saved.addItem(item.ordinal(), -1);
+            }
+
+            GameState loaded = new GameState();
+            loaded.startNewGame("Sam", null);
+            loaded.applySaveRecord(saved.toSaveRecord());
+            for (ItemCatalog.Item item : ItemCatalog.all()) {
+                Check.equal(item.startingCount() - 1, loaded.getItemCount(item.ordinal()), item.name());
+            }
+        });
+
+        Check.finish();
+    }
+}
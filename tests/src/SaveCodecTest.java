@@ -0,0 +1,184 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+
+/**
+ * Binary saves, old text saves and the checks that reject broken files.
+ */
+public class SaveCodecTest {
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("tamagotchi-test");
+
+        Check.test("binary round trip", () -> {
+            SaveRecord record = sampleRecord();
+            Path path = directory.resolve("round_trip.dat");
+            SaveCodec.write(path, record);
+
+            Check.that(BinarySave.isBinarySave(path), "written file should be a binary save");
+            try (var files = Files.list(directory)) {
+                Check.that(files.noneMatch(file -> file.toString().endsWith(".tmp")), "temporary file should be gone");
+            }
+            SaveRecord read = SaveCodec.read(path);
+            for (SaveField field : SaveField.values()) {
+                if (field.kind() == SaveField.Kind.STRING) {
+                    Check.equal(record.getString(field), read.getString(field), field.key());
+                } else {
+                    Check.equal(record.getLong(field), read.getLong(field), field.key());
+                }
+            }
+        });
+
+        Check.test("binary write replaces an existing save", () -> {
+            Path path = directory.resolve("replace.dat");
+            SaveCodec.write(path, sampleRecord());
+            SaveRecord second = new SaveRecord();
+            second.setString(SaveField.NAME, "Mochi");
+            SaveCodec.write(path, second);
+
+            SaveRecord read = SaveCodec.read(path);
+            Check.equal("Mochi", read.getString(SaveField.NAME), "name");
+            Check.equal(0, read.getInt(SaveField.HEALTH), "health");
+            Check.equal(null, read.getString(SaveField.PLAYER_NAME), "player name");
+        });
+
+        Check.test("concurrent writes to one save", () -> {
+            Path path = directory.resolve("concurrent.dat");
+            Thread[] writers = new Thread[4];
+            Throwable[] failure = new Throwable[1];
+            for (int t = 0; t < writers.length; t++) {
+                int score = t;
+                writers[t] = new Thread(() -> {
+                    SaveRecord record = sampleRecord();
+                    record.setInt(SaveField.SCORE, score);
+                    try {
+                        for (int i = 0; i < 50; i++) {
+                            SaveCodec.write(path, record);
+                        }
+                    } catch (Throwable e) {
+                        failure[0] = e;
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            Check.equal(null, failure[0], "write failure");
+            SaveRecord read = SaveCodec.read(path);
+            Check.equal("Biscuit", read.getString(SaveField.NAME), "name");
+            Check.that(read.getInt(SaveField.SCORE) >= 0 && read.getInt(SaveField.SCORE) < writers.length, "score from one writer");
+        });
+
+        Check.test("legacy text save", () -> {
+            String text = "petName=Biscuit\r\n"
+                    + "petType=dog\n"
+                    + "health=85.0\n"
+                    + "happiness=70\n"
+                    + "inventory.Premium Food=2\n"
+                    + "parentalPassword=a=b\n"
+                    + "playerName=null\n"
+                    + "allowedStartTime=08:30\n"
+                    + "healthSum=412.5\n"
+                    + "unknownKey=5\n"
+                    + "fullness=lots\n"
+                    + "no separator\n"
+                    + "energy=40";
+            SaveRecord record = SaveCodec.readText(text);
+
+            Check.equal("Biscuit", record.getString(SaveField.NAME), "name");
+            Check.equal("dog", record.getString(SaveField.TYPE), "type");
+            Check.equal(85, record.getInt(SaveField.HEALTH), "health written as a double");
+            Check.equal(70, record.getInt(SaveField.HAPPINESS), "happiness");
+            Check.equal(2, record.getInt(SaveField.PREMIUM_FOOD), "aliased inventory key");
+            Check.equal("a=b", record.getString(SaveField.PARENTAL_PASSWORD), "value containing '='");
+            Check.equal(null, record.getString(SaveField.PLAYER_NAME), "\"null\" string");
+            Check.equal((long) LocalTime.of(8, 30).toSecondOfDay(), record.getLong(SaveField.ALLOWED_START_TIME), "time");
+            Check.equal(412.5, record.getDouble(SaveField.HEALTH_SUM), "double");
+            Check.that(!record.has(SaveField.FULLNESS), "bad number should be skipped");
+            Check.equal(40, record.getInt(SaveField.ENERGY), "last line without newline");
+        });
+
+        Check.test("legacy text save read from a file", () -> {
+            Path path = directory.resolve("legacy.txt");
+            Files.writeString(path, "name=Pip\nscore=12\n");
+            Check.that(!BinarySave.isBinarySave(path), "text save isn't binary");
+            SaveRecord record = SaveCodec.read(path);
+            Check.equal("Pip", record.getString(SaveField.NAME), "name");
+            Check.equal(12, record.getInt(SaveField.SCORE), "score");
+        });
+
+        Check.test("bad magic is rejected", () -> {
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            buffer.putInt(0, 0x12345678);
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer), "bad magic");
+        });
+
+        Check.test("short header is rejected", () -> {
+            ByteBuffer buffer = ByteBuffer.allocate(8);
+            buffer.putInt(0, BinarySave.MAGIC);
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer), "short header");
+        });
+
+        Check.test("newer version is rejected", () -> {
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            buffer.putShort(4, (short) (BinarySave.VERSION + 1));
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer), "newer version");
+        });
+
+        Check.test("slot count past the end is rejected", () -> {
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            buffer.putShort(6, (short) 1000);
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer), "too many slots");
+        });
+
+        Check.test("string past the end is rejected", () -> {
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            int nameSlot = 16 + SaveField.NAME.ordinal() * 8;
+            buffer.putInt(nameSlot + 4, 1_000_000);
+            BinarySave.View view = new BinarySave.View(buffer);
+            Check.fails(IOException.class, () -> view.getString(SaveField.NAME), "length past the end");
+            Check.fails(IOException.class, view::toRecord, "record with a bad string");
+        });
+
+        Check.test("string offset outside the file is rejected", () -> {
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            int nameSlot = 16 + SaveField.NAME.ordinal() * 8;
+            buffer.putInt(nameSlot, -4);
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer).getString(SaveField.NAME), "negative offset");
+            buffer.putInt(nameSlot, Integer.MAX_VALUE);
+            Check.fails(IOException.class, () -> new BinarySave.View(buffer).getString(SaveField.NAME), "huge offset");
+        });
+
+        Check.test("truncated file is rejected", () -> {
+            Path path = directory.resolve("truncated.dat");
+            ByteBuffer buffer = BinarySave.encode(sampleRecord());
+            byte[] bytes = new byte[40];
+            buffer.get(bytes);
+            Files.write(path, bytes);
+            Check.fails(IOException.class, () -> SaveCodec.read(path), "truncated file");
+        });
+
+        Check.finish();
+    }
+
+    private static SaveRecord sampleRecord() {
+        SaveRecord record = new SaveRecord();
+        record.setString(SaveField.NAME, "Biscuit");
+        record.setString(SaveField.TYPE, "dog");
+        record.setInt(SaveField.HEALTH, 85);
+        record.setInt(SaveField.MAX_HEALTH, 120);
+        record.setInt(SaveField.CURRENCY, 250);
+        record.setInt(SaveField.PREMIUM_FOOD, 3);
+        record.setLong(SaveField.LAST_SIMULATED, 1_700_000_000_000L);
+        record.setString(SaveField.PLAYER_NAME, "Zo\u00eb");
+        record.setString(SaveField.PARENTAL_PASSWORD, null);
+        record.setLong(SaveField.ALLOWED_START_TIME, LocalTime.of(9, 0).toSecondOfDay());
+        record.setDouble(SaveField.HEALTH_SUM, 1234.75);
+        record.setLong(SaveField.JOURNAL_SEQUENCE, 42);
+        record.setLong(SaveField.RNG_SEED, -7L);
+        return record;
+    }
+}